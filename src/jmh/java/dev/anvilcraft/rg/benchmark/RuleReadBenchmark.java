@@ -0,0 +1,96 @@
+package dev.anvilcraft.rg.benchmark;
+
+import dev.anvilcraft.rg.api.RGRule;
+import dev.anvilcraft.rg.api.Rule;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 比较读取规则值的各种方式与直接读取静态字段的开销
+ * <p>
+ * 规则保存在static final字段中时，JIT可以将规则及其VarHandle视为常量，{@link RGRule#getInt()}应与直接读取字段相当；
+ * 规则保存在普通字段中时，每次读取都需要经过VarHandle的调用
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RuleReadBenchmark {
+    @Rule
+    public static int intRule = 8;
+    @Rule
+    public static Integer boxedRule = 8;
+
+    private static final RGRule<Integer> CONSTANT_RULE = RuleReadBenchmark.create("intRule");
+    private static final Field FIELD = RuleReadBenchmark.field("intRule");
+
+    private RGRule<Integer> rule;
+    private RGRule<Integer> boxed;
+
+    @Setup
+    public void setup() {
+        this.rule = RuleReadBenchmark.create("intRule");
+        this.boxed = RuleReadBenchmark.create("boxedRule");
+    }
+
+    @Benchmark
+    public int staticField() {
+        return RuleReadBenchmark.intRule;
+    }
+
+    @Benchmark
+    public int reflectiveField() throws IllegalAccessException {
+        return FIELD.getInt(null);
+    }
+
+    @Benchmark
+    public int constantGetInt() {
+        return CONSTANT_RULE.getInt();
+    }
+
+    @Benchmark
+    public Integer constantGetValue() {
+        return CONSTANT_RULE.getValue();
+    }
+
+    @Benchmark
+    public int getInt() {
+        return this.rule.getInt();
+    }
+
+    @Benchmark
+    public Integer getValue() {
+        return this.rule.getValue();
+    }
+
+    @Benchmark
+    public int boxedGetInt() {
+        return this.boxed.getInt();
+    }
+
+    private static @NotNull RGRule<Integer> create(String name) {
+        return RGRule.of("benchmark", RuleReadBenchmark.field(name));
+    }
+
+    private static @NotNull Field field(String name) {
+        try {
+            return RuleReadBenchmark.class.getField(name);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
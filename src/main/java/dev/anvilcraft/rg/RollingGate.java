@@ -4,16 +4,23 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.mojang.logging.LogUtils;
 import dev.anvilcraft.rg.api.client.ClientRGRuleManager;
+import dev.anvilcraft.rg.api.ConfigWriter;
 import dev.anvilcraft.rg.api.RGAdditional;
+import dev.anvilcraft.rg.api.RuleOverrideHolder;
 import dev.anvilcraft.rg.api.server.ServerRGRuleManager;
 import dev.anvilcraft.rg.api.server.TranslationUtil;
 import dev.anvilcraft.rg.client.RollingGateClientRules;
+import dev.anvilcraft.rg.event.RGRuleChangeEventListener;
+import dev.anvilcraft.rg.event.ServerAboutToStopEvent;
+import dev.anvilcraft.rg.network.RuleSyncPayload;
 import dev.anvilcraft.rg.tools.WelcomeMessage;
+import dev.anvilcraft.rg.tools.chest.menu.RuleBrowserMenu;
 import dev.anvilcraft.rg.tools.serializer.ChatFormattingSerializer;
 import dev.anvilcraft.rg.tools.serializer.DimTypeSerializer;
 import net.minecraft.ChatFormatting;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.neoforged.bus.api.IEventBus;
 import net.neoforged.bus.api.SubscribeEvent;
@@ -24,7 +31,10 @@ import net.neoforged.neoforge.common.NeoForge;
 import net.neoforged.fml.event.lifecycle.FMLLoadCompleteEvent;
 import net.neoforged.neoforge.event.RegisterCommandsEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
 import net.neoforged.neoforge.event.server.ServerStartingEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 
@@ -38,17 +48,22 @@ public class RollingGate implements RGAdditional {
 
     public RollingGate(@NotNull IEventBus modEventBus, @NotNull ModContainer modContainer) {
         modEventBus.addListener(this::onLoadComplete);
+        modEventBus.addListener(this::registerPayloads);
         NeoForge.EVENT_BUS.addListener(this::onPlayerLoggingIn);
+        NeoForge.EVENT_BUS.addListener(this::onPlayerClone);
         NeoForge.EVENT_BUS.addListener(this::onServerStarting);
+        NeoForge.EVENT_BUS.addListener(this::onServerAboutToStop);
         NeoForge.EVENT_BUS.addListener(this::registerCommand);
+        NeoForge.EVENT_BUS.addListener(this::onServerTick);
+        NeoForge.EVENT_BUS.addListener(this::onLevelLoad);
         modContainer.registerExtensionPoint(RGAdditional.class, this);
     }
 
     @Override
     public void loadServerRules(@NotNull ServerRGRuleManager manager) {
         manager.register(RollingGateServerRules.class);
-        TranslationUtil.loadLanguage(RollingGate.class, MODID, "zh_cn");
-        TranslationUtil.loadLanguage(RollingGate.class, MODID, "en_us");
+        RGRuleChangeEventListener.register(manager);
+        TranslationUtil.registerLanguages(RollingGate.class, MODID);
     }
 
     @Override
@@ -65,9 +80,35 @@ public class RollingGate implements RGAdditional {
         });
     }
 
+    @SubscribeEvent
+    public void registerPayloads(@NotNull RegisterPayloadHandlersEvent event) {
+        // 可选通道，未安装此模组的客户端仍然可以连接
+        event.registrar("1")
+            .optional()
+            .playToClient(RuleSyncPayload.TYPE, RuleSyncPayload.STREAM_CODEC, RuleSyncPayload::handle);
+    }
+
     @SubscribeEvent
     public void onServerStarting(@NotNull ServerStartingEvent event) {
         RollingGate.SERVER_RULE_MANAGER.reInit(event.getServer());
+        if (RollingGateServerRules.hotReload) RollingGate.SERVER_RULE_MANAGER.startWatching(event.getServer());
+    }
+
+    @SubscribeEvent
+    public void onServerAboutToStop(@NotNull ServerAboutToStopEvent event) {
+        RollingGate.SERVER_RULE_MANAGER.stopWatching();
+        ConfigWriter.flush();
+    }
+
+    @SubscribeEvent
+    public void onServerTick(@NotNull ServerTickEvent.Post event) {
+        RollingGate.SERVER_RULE_MANAGER.syncChanges(event.getServer());
+        RuleBrowserMenu.tickAll();
+    }
+
+    @SubscribeEvent
+    public void onLevelLoad(@NotNull LevelEvent.Load event) {
+        if (event.getLevel() instanceof ServerLevel level) RollingGate.SERVER_RULE_MANAGER.applyDimensionConfig(level);
     }
 
     @SubscribeEvent
@@ -77,11 +118,25 @@ public class RollingGate implements RGAdditional {
 
     @SubscribeEvent
     public void onPlayerLoggingIn(@NotNull PlayerEvent.PlayerLoggedInEvent event){
-        if(RollingGateServerRules.welcomePlayer){
-            WelcomeMessage.onPlayerLoggedIn((ServerPlayer) event.getEntity());
+        ServerPlayer player = (ServerPlayer) event.getEntity();
+        RollingGate.SERVER_RULE_MANAGER.applyPlayerConfig(player);
+        RollingGate.SERVER_RULE_MANAGER.syncTo(player);
+        if(RollingGate.SERVER_RULE_MANAGER.getRule("welcome_player", Boolean.class).getValue(player)){
+            WelcomeMessage.onPlayerLoggedIn(player);
         }
     }
 
+    @SubscribeEvent
+    public void onPlayerClone(@NotNull PlayerEvent.Clone event) {
+        // 重生或离开末地时会创建新的玩家实体，覆盖值需要随之保留
+        Object[] overrides = ((RuleOverrideHolder) event.getOriginal()).rolling_gate$getRuleOverrides();
+        ((RuleOverrideHolder) event.getEntity()).rolling_gate$setRuleOverrides(overrides);
+    }
+
+    public static @NotNull ServerRGRuleManager getServerRuleManager() {
+        return RollingGate.SERVER_RULE_MANAGER;
+    }
+
     public static final Gson GSON = new GsonBuilder()
             .setPrettyPrinting()
             .registerTypeHierarchyAdapter(ResourceKey.class, new DimTypeSerializer())
@@ -10,7 +10,7 @@ public class RollingGateServerRules {
     @Rule(allowed = {"zh_cn", "en_us"}, categories = RollingGateCategories.BASE)
     public static String language = "zh_cn";
 
-    public static class ViewDistanceValidator extends RGValidator.IntegerValidator {
+    public static class ViewDistanceValidator extends RGValidator.IntegerValidator implements RGValidator.StaticRange {
         @Override
         public @NotNull Map.Entry<Integer, Integer> getRange() {
             return Map.entry(0, 32);
@@ -37,4 +37,11 @@ public class RollingGateServerRules {
         validator = RGValidator.BooleanValidator.class
     )
     public static boolean welcomePlayer = false;
+
+    @Rule(
+        allowed = {"true", "false"},
+        categories = RollingGateCategories.EXPERIMENTAL,
+        validator = RGValidator.BooleanValidator.class
+    )
+    public static boolean hotReload = false;
 }
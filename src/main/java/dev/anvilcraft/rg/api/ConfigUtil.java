@@ -1,14 +1,22 @@
 package dev.anvilcraft.rg.api;
 
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
 import net.minecraft.util.GsonHelper;
 import org.apache.commons.io.FileUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 /**
  * ConfigUtil类提供文件操作实用程序，包括读取和写入JSON配置文件
@@ -40,6 +48,49 @@ public class ConfigUtil {
         }
     }
 
+    /**
+     * 流式读取指定文件路径中的JSON对象，对每个键调用一次访问器，不会构建完整的Json树。
+     * 如果文件不存在或是目录，它创建一个包含空JSON对象内容的新文件
+     *
+     * @param path 文件路径，不得为空
+     * @param visitor 键值访问器，必须恰好消费读取器中的一个值
+     * @throws RGRuleException 如果读取文件失败，则抛出异常并说明原因
+     */
+    public static void readContent(@NotNull Path path, @NotNull ContentVisitor visitor) {
+        File file = path.toFile();
+        try {
+            if (!file.exists() || file.isDirectory()) {
+                // 将空JSON对象写入不存在的或目录文件
+                FileUtils.writeStringToFile(file, "{}", StandardCharsets.UTF_8);
+                return;
+            }
+            ConfigUtil.readContent(Files.newBufferedReader(path, StandardCharsets.UTF_8), visitor);
+        } catch (IOException e) {
+            // 如果读取文件失败，则抛出自定义异常
+            throw new RGRuleException("Failed to read rolling gate config file", e);
+        }
+    }
+
+    /**
+     * 流式读取JSON对象，对每个键调用一次访问器，读取完成后关闭输入
+     *
+     * @param input 输入，不得为空
+     * @param visitor 键值访问器，必须恰好消费读取器中的一个值
+     * @throws RGRuleException 如果读取失败，则抛出异常并说明原因
+     */
+    public static void readContent(@NotNull Reader input, @NotNull ContentVisitor visitor) {
+        try (JsonReader reader = new JsonReader(input)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                visitor.visit(reader.nextName(), reader);
+            }
+            reader.endObject();
+        } catch (IOException | IllegalStateException e) {
+            // 如果读取文件失败，则抛出自定义异常
+            throw new RGRuleException("Failed to read rolling gate config file", e);
+        }
+    }
+
     /**
      * 将内容写入指定的文件路径
      *
@@ -56,5 +107,49 @@ public class ConfigUtil {
             throw new RGRuleException("Failed to write rolling gate config file", e);
         }
     }
-}
 
+    /**
+     * 以原子替换的方式将内容写入指定的文件路径：先写入同目录下的临时文件并同步到磁盘，再将其重命名为目标文件，
+     * 写入中途崩溃不会截断原有的文件
+     *
+     * @param path 文件路径，不得为空
+     * @param content 要写入的内容，不能为空
+     * @throws RGRuleException 如果写入文件失败，则抛出异常并说明原因
+     */
+    public static void writeContentAtomic(@NotNull Path path, @NotNull String content) {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) channel.write(buffer);
+                // 确保内容落盘后再替换目标文件
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // 如果写入文件失败，则抛出自定义异常
+            throw new RGRuleException("Failed to write rolling gate config file", e);
+        }
+    }
+
+    /**
+     * 配置文件键值访问器
+     */
+    @FunctionalInterface
+    public interface ContentVisitor {
+        /**
+         * 访问配置文件中的一个键值对
+         *
+         * @param key 键
+         * @param reader 位于该键对应值之前的Json读取器
+         * @throws IOException 读取失败时抛出
+         */
+        void visit(@NotNull String key, @NotNull JsonReader reader) throws IOException;
+    }
+}
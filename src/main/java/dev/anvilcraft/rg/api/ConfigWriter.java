@@ -0,0 +1,110 @@
+package dev.anvilcraft.rg.api;
+
+import dev.anvilcraft.rg.RollingGate;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+/**
+ * ConfigWriter在后台线程中写入配置文件
+ * <p>
+ * 短时间内对同一文件的多次提交会被合并为一次写入，只保留最后一次提交的内容。
+ * 内容的序列化也在后台线程中进行，因此提交的内容必须基于调用时的副本。
+ * 文件通过{@link ConfigUtil#writeContentAtomic(Path, String)}以原子替换的方式写入，
+ * 并记录写入内容的哈希，以便文件监听器区分自身的写入与外部修改
+ */
+public final class ConfigWriter {
+    // 合并写入的等待时间（毫秒）
+    private static final long DELAY = 500;
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "RollingGate Config Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // 等待写入的文件及其内容，同一路径只保留最新的内容
+    private static final Map<Path, Supplier<String>> PENDING = new LinkedHashMap<>();
+    // 每个文件最近一次写入的内容的哈希
+    private static final Map<Path, Long> WRITTEN = new ConcurrentHashMap<>();
+    // 保证同一时间只有一个线程在写入，避免旧内容覆盖新内容
+    private static final Object WRITE_LOCK = new Object();
+    private static boolean scheduled = false;
+
+    private ConfigWriter() {
+    }
+
+    /**
+     * 提交一次写入，稍后在后台线程中执行
+     *
+     * @param path    文件路径
+     * @param content 文件内容的提供者，会在后台线程中调用
+     */
+    public static void submit(@NotNull Path path, @NotNull Supplier<String> content) {
+        synchronized (PENDING) {
+            PENDING.put(path, content);
+            if (scheduled) return;
+            scheduled = true;
+        }
+        EXECUTOR.schedule(ConfigWriter::flush, DELAY, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 立即在当前线程中写入所有等待中的文件，并等待正在进行的写入完成
+     */
+    public static void flush() {
+        synchronized (WRITE_LOCK) {
+            Map<Path, Supplier<String>> batch;
+            synchronized (PENDING) {
+                batch = new LinkedHashMap<>(PENDING);
+                PENDING.clear();
+                scheduled = false;
+            }
+            for (Map.Entry<Path, Supplier<String>> entry : batch.entrySet()) {
+                try {
+                    String content = entry.getValue().get();
+                    // 先记录哈希再写入，监听器收到修改事件时一定能读到记录
+                    WRITTEN.put(ConfigWriter.key(entry.getKey()), ConfigWriter.hash(content.getBytes(StandardCharsets.UTF_8)));
+                    ConfigUtil.writeContentAtomic(entry.getKey(), content);
+                } catch (RuntimeException e) {
+                    RollingGate.LOGGER.error("Failed to write {}", entry.getKey(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 检查文件的当前内容是否与最近一次由此类写入的内容相同
+     *
+     * @param path 文件路径
+     * @return 文件内容未被外部修改时返回true，文件从未由此类写入或无法读取时返回false
+     */
+    public static boolean isLastWritten(@NotNull Path path) {
+        Long hash = WRITTEN.get(ConfigWriter.key(path));
+        if (hash == null) return false;
+        try {
+            return hash == ConfigWriter.hash(Files.readAllBytes(path));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static @NotNull Path key(@NotNull Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private static long hash(byte @NotNull [] content) {
+        CRC32C crc = new CRC32C();
+        crc.update(content);
+        return crc.getValue();
+    }
+}
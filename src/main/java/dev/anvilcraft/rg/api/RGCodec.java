@@ -10,11 +10,15 @@ import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.function.Function;
 
@@ -31,25 +35,29 @@ public class RGCodec<T> implements JsonDeserializer<T>, JsonSerializer<T> {
     private final Function<String, T> decoder;
     // 编码函数，将指定类型转换为字符串
     private final Function<T, String> encoder;
+    // 流式解码函数，直接从JsonReader中读取指定类型
+    private final Reader<T> reader;
+    // Json基本值解码函数，直接使用JsonPrimitive的访问器读取指定类型
+    private final Function<JsonPrimitive, T> primitiveReader;
     // 是否锁定，表示该类型是否具有固定的编解码逻辑
     private final boolean isBuiltIn;
 
     // 预定义的字符串类型编解码器
-    public static final RGCodec<String> STRING = new RGCodec<>(String.class, String::toString, String::toString, true);
+    public static final RGCodec<String> STRING = new RGCodec<>(String.class, String::toString, String::toString, RGCodec::readString, JsonPrimitive::getAsString, true);
     // 预定义的布尔类型编解码器
-    public static final RGCodec<Boolean> BOOLEAN = new RGCodec<>(Boolean.class, s -> s.equals("true"), Object::toString, true);
+    public static final RGCodec<Boolean> BOOLEAN = new RGCodec<>(Boolean.class, RGCodec::parseBoolean, Object::toString, RGCodec::readBoolean, RGCodec::readBoolean, true);
     // 预定义的字节类型编解码器
-    public static final RGCodec<Byte> BYTE = new RGCodec<>(Byte.class, Byte::parseByte, Object::toString, true);
+    public static final RGCodec<Byte> BYTE = new RGCodec<>(Byte.class, Byte::parseByte, Object::toString, r -> Byte.parseByte(r.nextString()), p -> Byte.parseByte(p.getAsString()), true);
     // 预定义的短整型编解码器
-    public static final RGCodec<Short> SHORT = new RGCodec<>(Short.class, Short::parseShort, Object::toString, true);
+    public static final RGCodec<Short> SHORT = new RGCodec<>(Short.class, Short::parseShort, Object::toString, r -> Short.parseShort(r.nextString()), p -> Short.parseShort(p.getAsString()), true);
     // 预定义的整型编解码器
-    public static final RGCodec<Integer> INTEGER = new RGCodec<>(Integer.class, Integer::parseInt, Object::toString, true);
+    public static final RGCodec<Integer> INTEGER = new RGCodec<>(Integer.class, Integer::parseInt, Object::toString, JsonReader::nextInt, p -> Integer.parseInt(p.getAsString()), true);
     // 预定义的长整型编解码器
-    public static final RGCodec<Long> LONG = new RGCodec<>(Long.class, Long::parseLong, Object::toString, true);
+    public static final RGCodec<Long> LONG = new RGCodec<>(Long.class, Long::parseLong, Object::toString, JsonReader::nextLong, p -> Long.parseLong(p.getAsString()), true);
     // 预定义的浮点型编解码器
-    public static final RGCodec<Float> FLOAT = new RGCodec<>(Float.class, Float::parseFloat, Object::toString, true);
+    public static final RGCodec<Float> FLOAT = new RGCodec<>(Float.class, Float::parseFloat, Object::toString, r -> Float.parseFloat(r.nextString()), JsonPrimitive::getAsFloat, true);
     // 预定义的双精度浮点型编解码器
-    public static final RGCodec<Double> DOUBLE = new RGCodec<>(Double.class, Double::parseDouble, Object::toString, true);
+    public static final RGCodec<Double> DOUBLE = new RGCodec<>(Double.class, Double::parseDouble, Object::toString, JsonReader::nextDouble, JsonPrimitive::getAsDouble, true);
 
     /**
      * 构造一个 RGCodec 实例
@@ -57,12 +65,19 @@ public class RGCodec<T> implements JsonDeserializer<T>, JsonSerializer<T> {
      * @param clazz 类型类
      * @param decoder 解码函数
      * @param encoder 编码函数
+     * @param reader 流式解码函数，为null时先读取字符串再使用解码函数
+     * @param primitiveReader Json基本值解码函数，为null时读取基本值的文本再使用解码函数
      * @param isBuiltIn 是否内置
      */
-    private RGCodec(Class<T> clazz, Function<String, T> decoder, Function<T, String> encoder, boolean isBuiltIn) {
+    private RGCodec(
+        Class<T> clazz, Function<String, T> decoder, Function<T, String> encoder,
+        Reader<T> reader, Function<JsonPrimitive, T> primitiveReader, boolean isBuiltIn
+    ) {
         this.clazz = clazz;
         this.decoder = decoder;
         this.encoder = encoder;
+        this.reader = reader != null ? reader : r -> this.decode(RGCodec.readAsString(r));
+        this.primitiveReader = primitiveReader != null ? primitiveReader : p -> this.decode(p.getAsString());
         this.isBuiltIn = isBuiltIn;
     }
 
@@ -77,7 +92,7 @@ public class RGCodec<T> implements JsonDeserializer<T>, JsonSerializer<T> {
      */
     @SuppressWarnings("unused")
     public static <T> @NotNull RGCodec<T> of(Class<T> clazz, Function<String, T> decoder, Function<T, String> encoder) {
-        return new RGCodec<>(clazz, decoder, encoder, false);
+        return new RGCodec<>(clazz, decoder, encoder, null, null, false);
     }
 
     /**
@@ -109,6 +124,39 @@ public class RGCodec<T> implements JsonDeserializer<T>, JsonSerializer<T> {
         return this.decoder.apply(str);
     }
 
+    /**
+     * 直接从JsonReader中解码当前的值，不会构建Json树，也不会把值转换回字符串
+     *
+     * @param reader Json读取器，读取后位于该值之后
+     * @return 解码后的对象，不会为null
+     * @throws IOException 读取失败时抛出
+     * @throws IllegalStateException 当Json值为null或其类型与编解码器不匹配时抛出
+     * @throws NumberFormatException 当数字无法解析时抛出
+     */
+    public @NotNull T read(@NotNull JsonReader reader) throws IOException {
+        // 规则值不能为null，基本类型的规则无法写入null
+        if (reader.peek() == JsonToken.NULL) throw new IllegalStateException("Expected a value but was null");
+        T value = this.reader.read(reader);
+        if (value == null) throw new IllegalStateException("Expected a value but was null");
+        return value;
+    }
+
+    /**
+     * 直接从Json元素中解码值，基本值使用JsonPrimitive的访问器读取，不会把值转换回Json文本
+     *
+     * @param element Json元素
+     * @return 解码后的对象，不会为null
+     * @throws IllegalStateException 当Json值为null时抛出
+     * @throws NumberFormatException 当数字无法解析时抛出
+     */
+    public @NotNull T read(@NotNull JsonElement element) {
+        if (element.isJsonNull()) throw new IllegalStateException("Expected a value but was null");
+        // 数组与对象只可能被自定义编解码器接受，与流式读取一致地使用其Json文本
+        T value = element instanceof JsonPrimitive primitive ? this.primitiveReader.apply(primitive) : this.decode(element.toString());
+        if (value == null) throw new IllegalStateException("Expected a value but was null");
+        return value;
+    }
+
     /**
      * 编码对象为字符串
      * 
@@ -158,4 +206,59 @@ public class RGCodec<T> implements JsonDeserializer<T>, JsonSerializer<T> {
     public @NotNull JsonElement serialize(T src, Type typeOfSrc, JsonSerializationContext context) {
         return new JsonPrimitive(this.encode(src));
     }
+
+    /**
+     * 以字符串的形式读取当前的值，数字保留其原始文本
+     *
+     * @param reader Json读取器
+     * @return 值的字符串形式
+     * @throws IOException 读取失败时抛出
+     */
+    private static String readAsString(@NotNull JsonReader reader) throws IOException {
+        return switch (reader.peek()) {
+            case STRING, NUMBER -> reader.nextString();
+            case BOOLEAN -> String.valueOf(reader.nextBoolean());
+            default -> JsonParser.parseReader(reader).toString();
+        };
+    }
+
+    private static String readString(@NotNull JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BOOLEAN) return String.valueOf(reader.nextBoolean());
+        return reader.nextString();
+    }
+
+    private static Boolean readBoolean(@NotNull JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.STRING) return reader.nextBoolean();
+        return RGCodec.parseBoolean(reader.nextString());
+    }
+
+    private static Boolean readBoolean(@NotNull JsonPrimitive primitive) {
+        if (primitive.isBoolean()) return primitive.getAsBoolean();
+        return RGCodec.parseBoolean(primitive.getAsString());
+    }
+
+    private static @NotNull Boolean parseBoolean(@NotNull String value) {
+        return switch (value) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new IllegalArgumentException("Expected a boolean but was " + value);
+        };
+    }
+
+    /**
+     * 流式解码函数
+     *
+     * @param <T> 解码的类型
+     */
+    @FunctionalInterface
+    public interface Reader<T> {
+        /**
+         * 从JsonReader中读取一个值
+         *
+         * @param reader Json读取器
+         * @return 读取到的值
+         * @throws IOException 读取失败时抛出
+         */
+        T read(@NotNull JsonReader reader) throws IOException;
+    }
 }
@@ -2,7 +2,7 @@ package dev.anvilcraft.rg.api;
 
 /**
  * 枚举 RGEnvironment 表示模块可以运行的不同环境
- * 它包括两种类型：客户端和服务器。此枚举提供了确定当前环境的方法
+ * 它包括三种类型：客户端、服务器以及同步到客户端的服务器。此枚举提供了确定当前环境的方法
  */
 public enum RGEnvironment {
     /**
@@ -12,7 +12,11 @@ public enum RGEnvironment {
     /**
      * 表示服务器端环境
      */
-    SERVER;
+    SERVER,
+    /**
+     * 表示服务器端环境，且规则的值会同步到安装了此模组的客户端
+     */
+    SYNCED;
 
     /**
      * 检查当前环境是否为客户端.
@@ -29,6 +33,15 @@ public enum RGEnvironment {
      * @return 如果当前环境是服务器端，则为true，否则为false
      */
     public boolean isServer() {
-        return this == SERVER;
+        return this != CLIENT;
+    }
+
+    /**
+     * 检查规则的值是否需要同步到客户端
+     *
+     * @return 如果规则的值需要同步到客户端，则为true，否则为false
+     */
+    public boolean isSynced() {
+        return this == SYNCED;
     }
 }
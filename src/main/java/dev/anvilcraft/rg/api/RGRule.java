@@ -1,27 +1,43 @@
 package dev.anvilcraft.rg.api;
 
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
 import dev.anvilcraft.rg.RollingGate;
 import dev.anvilcraft.rg.api.event.RGRuleChangeEvent;
+import dev.anvilcraft.rg.api.event.RGRuleListener;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
 import net.neoforged.neoforge.common.NeoForge;
 import net.neoforged.neoforge.server.ServerLifecycleHooks;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * RGRule类用于定义和管理配置规则它是一个泛型记录类，用于存储配置项的相关信息和操作逻辑
+ * <p>
+ * 规则值通过创建时绑定的VarHandle读写。基本类型的字段使用{@link #getInt()}等方法读取时，调用点的类型与字段类型完全一致，
+ * 不会产生装箱；将规则保存在static final字段中时，JIT可以把规则与其VarHandle视为常量并内联为普通的字段读取。
+ * 各种读取方式的开销可以使用jmh源码集中的RuleReadBenchmark测量
  *
  * @param <T> 配置项的类型
  */
 public record RGRule<T>(String namespace, Class<T> type, RGEnvironment environment, String[] categories,
                         String serialize, String[] allowed,
-                        List<RGValidator<T>> validators, T defaultValue, Field field, RGCodec<T> codec) {
+                        List<RGValidator<T>> validators, T defaultValue, Class<?> owner, String name, VarHandle handle,
+                        RGCodec<T> codec, RGRuleListeners<T> listeners, int id) {
+    // 下一个规则的编号，编号在所有规则中唯一，用作覆盖值数组的下标
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
 
     /**
      * CODECS映射用于存储支持的类型及其对应的编解码器
@@ -88,46 +104,226 @@ public record RGRule<T>(String namespace, Class<T> type, RGEnvironment environme
             // 为String类型添加默认验证器
             validators.add((RGValidator<T>) new RGValidator.StringValidator());
         }
+        VarHandle handle;
         try {
+            handle = MethodHandles.lookup().unreflectVarHandle(field);
+        } catch (IllegalAccessException e) {
+            throw RGRuleException.illegalAccess(name);
+        }
+        return RGRule.create(
+            namespace,
+            field.getDeclaringClass(),
+            name,
+            handle,
+            (Class<T>) type,
+            rule.env(),
+            rule.categories(),
+            serialize,
+            rule.allowed(),
+            validators,
+            (RGCodec<T>) rgCodec
+        );
+    }
+
+    /**
+     * 使用编译期预先计算好的信息创建一个新的RGRule实例
+     * <p>
+     * 此方法供注解处理器生成的{@link RGRuleRegistry}调用，序列化名称、验证器和编解码器均已在编译期确定，
+     * VarHandle由生成的注册表通过{@link MethodHandles.Lookup#findStaticVarHandle}直接绑定，运行时不再经过反射
+     *
+     * @param namespace   命名空间
+     * @param owner       声明配置项的类
+     * @param name        配置项的字段名
+     * @param handle      配置项字段的VarHandle
+     * @param type        配置项的包装类型
+     * @param environment 配置项适用的环境
+     * @param categories  配置项所属的类别
+     * @param serialize   配置项的序列化名称
+     * @param allowed     配置项允许的值
+     * @param validators  配置项的验证器，包括默认验证器
+     * @param codec       配置项的编解码器
+     * @param <T>         配置项的类型
+     * @return 新创建的RGRule实例
+     * @throws RGRuleException 如果无法读取字段的默认值，则抛出此异常
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @NotNull RGRule<T> of(
+        String namespace, @NotNull Class<?> owner, @NotNull String name, @NotNull VarHandle handle, @NotNull Class<T> type,
+        @NotNull RGEnvironment environment, String[] categories, @NotNull String serialize, String[] allowed,
+        @NotNull List<? extends RGValidator<?>> validators, @NotNull RGCodec<T> codec
+    ) {
+        return RGRule.create(
+            namespace,
+            owner,
+            name,
+            handle,
+            type,
+            environment,
+            categories,
+            serialize,
+            allowed,
+            new ArrayList<>((List<RGValidator<T>>) (List<?>) validators),
+            codec
+        );
+    }
+
+    private static <T> @NotNull RGRule<T> create(
+        String namespace, @NotNull Class<?> owner, @NotNull String name, @NotNull VarHandle handle, Class<T> type,
+        RGEnvironment environment, String[] categories, String serialize, String[] allowed,
+        List<RGValidator<T>> validators, RGCodec<T> codec
+    ) {
+        try {
+            // 字段的当前值即为默认值，之后的读写都经过VarHandle
+            //noinspection unchecked
             return new RGRule<>(
                 namespace,
-                (Class<T>) type,
-                rule.env(),
-                rule.categories(),
+                type,
+                environment,
+                categories,
                 serialize,
-                rule.allowed(),
+                allowed,
                 validators,
-                (T) field.get(null),
-                field,
-                (RGCodec<T>) rgCodec
+                (T) handle.get(),
+                owner,
+                name,
+                handle,
+                codec,
+                new RGRuleListeners<>(),
+                NEXT_ID.getAndIncrement()
             );
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             throw RGRuleException.createRuleFailed(name);
         }
     }
 
     /**
-     * 获取配置项的名称
+     * 获取配置项对应的字段
+     * <p>
+     * 规则的读写只使用VarHandle，此方法只在调用时通过反射查找字段
      *
-     * @return 配置项的名称
+     * @return 配置项对应的字段
+     * @throws RGRuleException 如果字段不存在，则抛出此异常
      */
-    public @NotNull String name() {
-        return this.field.getName();
+    public @NotNull Field field() {
+        try {
+            return this.owner.getField(this.name);
+        } catch (NoSuchFieldException e) {
+            throw RGRuleException.createRuleFailed(this.name);
+        }
     }
 
     /**
      * 获取配置项的当前值
      *
      * @return 配置项的值
-     * @throws RGRuleException 如果无法访问配置项的值，则抛出此异常
      */
     @SuppressWarnings("unchecked")
     public T getValue() {
-        try {
-            return (T) this.field.get(null);
-        } catch (IllegalAccessException e) {
-            throw RGRuleException.illegalAccess(this.name());
-        }
+        return (T) this.handle.get();
+    }
+
+    /**
+     * 获取配置项在指定世界中的值
+     * <p>
+     * 世界的覆盖值保存在以规则编号为下标的数组中，读取时不需要查找映射表；世界没有覆盖此规则时返回全局的值
+     *
+     * @param level 世界
+     * @return 配置项在此世界中的值
+     */
+    public T getValue(@NotNull Level level) {
+        T value = this.getOverride(level);
+        return value != null ? value : this.getValue();
+    }
+
+    /**
+     * 获取配置项对指定玩家生效的值
+     * <p>
+     * 依次使用玩家的覆盖值、玩家所在世界的覆盖值与全局的值，每一层都只需要一次数组访问
+     *
+     * @param player 玩家
+     * @return 配置项对此玩家生效的值
+     */
+    public T getValue(@NotNull Player player) {
+        T value = this.getOverride(player);
+        return value != null ? value : this.getValue(player.level());
+    }
+
+    /**
+     * 获取配置项在指定对象上的覆盖值
+     *
+     * @param holder 可能实现了{@link RuleOverrideHolder}的对象，如世界或玩家
+     * @return 覆盖值，没有覆盖时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable T getOverride(@NotNull Object holder) {
+        if (!(holder instanceof RuleOverrideHolder overrideHolder)) return null;
+        Object[] overrides = overrideHolder.rolling_gate$getRuleOverrides();
+        return this.id < overrides.length ? (T) overrides[this.id] : null;
+    }
+
+    /**
+     * 以boolean形式获取配置项的当前值，不会产生装箱
+     *
+     * @return 配置项的值
+     * @throws RGRuleException 如果配置项不是boolean类型，则抛出此异常
+     */
+    public boolean getBoolean() {
+        this.checkValueType(Boolean.class);
+        return (boolean) this.handle.get();
+    }
+
+    /**
+     * 以int形式获取配置项的当前值，不会产生装箱
+     *
+     * @return 配置项的值
+     * @throws RGRuleException 如果配置项不是int类型，则抛出此异常
+     */
+    public int getInt() {
+        this.checkValueType(Integer.class);
+        return (int) this.handle.get();
+    }
+
+    /**
+     * 以long形式获取配置项的当前值，不会产生装箱
+     *
+     * @return 配置项的值
+     * @throws RGRuleException 如果配置项不是long类型，则抛出此异常
+     */
+    public long getLong() {
+        this.checkValueType(Long.class);
+        return (long) this.handle.get();
+    }
+
+    /**
+     * 以float形式获取配置项的当前值，不会产生装箱
+     *
+     * @return 配置项的值
+     * @throws RGRuleException 如果配置项不是float类型，则抛出此异常
+     */
+    public float getFloat() {
+        this.checkValueType(Float.class);
+        return (float) this.handle.get();
+    }
+
+    /**
+     * 以double形式获取配置项的当前值，不会产生装箱
+     *
+     * @return 配置项的值
+     * @throws RGRuleException 如果配置项不是double类型，则抛出此异常
+     */
+    public double getDouble() {
+        this.checkValueType(Double.class);
+        return (double) this.handle.get();
+    }
+
+    /**
+     * 检查配置项的类型是否与期望的包装类一致
+     *
+     * @param expected 期望的包装类
+     * @throws RGRuleException 如果类型不一致，则抛出此异常
+     */
+    private void checkValueType(@NotNull Class<?> expected) {
+        if (this.type != expected) throw RGRuleException.typeMismatch(this.name(), expected);
     }
 
 
@@ -180,32 +376,142 @@ public record RGRule<T>(String namespace, Class<T> type, RGEnvironment environme
         return str.replaceAll("([a-z])([A-Z]+)", "$1_$2").toLowerCase();
     }
 
+    /**
+     * 验证并解码字段的新值，不会修改字段
+     *
+     * @param value 字段的新值
+     * @return 解码后的值
+     * @throws RGRuleException 当值不合法时抛出异常
+     */
+    public T parseValue(String value) {
+        T decoded;
+        try {
+            // 每个值只解析一次，验证器直接检查解码后的值
+            decoded = this.codec.decode(value);
+        } catch (IllegalArgumentException e) {
+            // 解码失败时报告编解码器的错误，而不是某个验证器的原因
+            throw new RGRuleException("Illegal value: %s, reason: can't be decoded as %s, %s", value, this.type.getSimpleName(), e.getMessage());
+        }
+        this.validate(decoded);
+        return decoded;
+    }
+
+    /**
+     * 直接从JsonReader中解码并验证字段的新值，不会修改字段
+     * <p>
+     * 与{@link #parseValue(JsonElement)}不同，此方法不会构建Json树，适合流式读取配置文件
+     *
+     * @param reader Json读取器，读取后位于该值之后
+     * @return 解码后的值
+     * @throws IOException 读取失败时抛出
+     * @throws RGRuleException 当值为null或不合法时抛出异常
+     */
+    public T parseValue(@NotNull JsonReader reader) throws IOException {
+        T value;
+        try {
+            value = this.codec.read(reader);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            throw new RGRuleException("Illegal value of %s, reason: %s", this.name(), e.getMessage());
+        }
+        this.validate(value);
+        return value;
+    }
+
+    /**
+     * 使用规则的验证器验证一个已解码的值
+     *
+     * @param value 已解码的值
+     * @throws RGRuleException 当值不合法时抛出异常
+     */
+    public void validate(T value) {
+        if (this.validators.isEmpty()) return;
+        T oldValue = this.getValue();
+        for (RGValidator<T> validator : this.validators) {
+            if (!validator.validateValue(oldValue, value, this.codec)) {
+                throw new RGRuleException("Illegal value: %s, reason: %s", this.codec.encode(value), validator.reason());
+            }
+        }
+    }
+
+    /**
+     * 验证并解码字段的新json值，不会修改字段
+     * <p>
+     * 值通过{@link RGCodec#read(JsonElement)}直接解码，不会转换回字符串再解析
+     *
+     * @param primitive 字段的新json值
+     * @return 解码后的值
+     * @throws RGRuleException 当值为null或不合法时抛出异常
+     */
+    public T parseValue(JsonElement primitive) {
+        T value;
+        try {
+            value = this.codec.read(primitive);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            throw new RGRuleException("Illegal value of %s, reason: %s", this.name(), e.getMessage());
+        }
+        this.validate(value);
+        return value;
+    }
+
+    /**
+     * 为此规则添加一个变更监听器，只有此规则变更时才会调用
+     *
+     * @param listener 监听器
+     */
+    public void addListener(@NotNull RGRuleListener<T> listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * 移除此规则的一个变更监听器
+     *
+     * @param listener 监听器
+     * @return 监听器是否存在
+     */
+    public boolean removeListener(@NotNull RGRuleListener<T> listener) {
+        return this.listeners.remove(listener);
+    }
+
+    /**
+     * 创建变更事件，先按注册顺序调用此规则的监听器，未被取消时再发布到NeoForge事件总线
+     *
+     * @param oldValue 旧值
+     * @param newValue 新值
+     * @return 处理完成的事件，调用方需要检查是否被取消并使用事件中的新值
+     */
+    @NotNull RGRuleChangeEvent<T> fireChange(T oldValue, T newValue) {
+        RGRuleChangeEvent<T> event = this.fireListeners(oldValue, newValue);
+        // NeoForge事件总线仅作为兼容旧监听方式的后备
+        if (!event.isCanceled()) NeoForge.EVENT_BUS.post(event);
+        return event;
+    }
+
+    /**
+     * 创建变更事件并只调用此规则的监听器，不会发布到NeoForge事件总线
+     *
+     * @param oldValue 旧值
+     * @param newValue 新值
+     * @return 处理完成的事件
+     */
+    @NotNull RGRuleChangeEvent<T> fireListeners(T oldValue, T newValue) {
+        RGRuleChangeEvent<T> event;
+        if (this.environment().isServer()) {
+            event = new RGRuleChangeEvent.Server<>(this, oldValue, newValue, ServerLifecycleHooks.getCurrentServer());
+        } else {
+            event = new RGRuleChangeEvent.Client<>(this, oldValue, newValue);
+        }
+        this.listeners.fire(event);
+        return event;
+    }
+
     /**
      * 设置字段的值
      *
      * @param value 要设置的字段值
      * @throws RGRuleException 当值无法被设置时抛出异常
      */
-    @SuppressWarnings("unchecked")
     public void setFieldValue(String value) {
-        try {
-            for (RGValidator<T> validator : this.validators) {
-                if (!validator.validate((T) this.field.get(null), value)) {
-                    throw new RGRuleException("Illegal value: %s, reason: %s", value, validator.reason());
-                }
-            }
-            RGRuleChangeEvent<T> event;
-            if (this.environment().isServer()) {
-                event = new RGRuleChangeEvent.Server<>(this, this.getValue(), this.codec.decode(value), ServerLifecycleHooks.getCurrentServer());
-            } else {
-                event = new RGRuleChangeEvent.Client<>(this, this.getValue(), this.codec.decode(value));
-            }
-            NeoForge.EVENT_BUS.post(event);
-            if (event.isCanceled()) return;
-            this.field.set(null, event.getNewValue());
-        } catch (IllegalAccessException e) {
-            throw new RGRuleException("Illegal value: %s", value);
-        }
+        this.setParsedValue(this.parseValue(value));
     }
 
     /**
@@ -215,14 +521,34 @@ public record RGRule<T>(String namespace, Class<T> type, RGEnvironment environme
      * @throws RGRuleException 当值无法被设置时抛出异常
      */
     public void setFieldValue(JsonElement primitive) {
-        RGCodec<?> rgCodec = CODECS.getOrDefault(this.field.getType().getTypeName(), null);
-        if (rgCodec != null) {
-            if (primitive.isJsonPrimitive() && primitive.getAsJsonPrimitive().isString()) {
-                this.setFieldValue(primitive.getAsString());
-            } else this.setFieldValue(primitive.toString());
-            return;
-        }
-        throw new RGRuleException("Field %s has unsupported type %s", this.name(), this.field.getType().getTypeName());
+        this.setParsedValue(this.parseValue(primitive));
+    }
+
+    private void setParsedValue(T newValue) {
+        RGRuleChangeEvent<T> event = this.fireChange(this.getValue(), newValue);
+        if (event.isCanceled()) return;
+        this.applyValue(event.getNewValue());
+    }
+
+    /**
+     * 直接写入已经验证过的值，不会发布规则更改事件
+     * <p>
+     * 调用方需要保证值已经通过{@link #parseValue(String)}验证，写入后会发布新的{@link RGRuleSnapshot}
+     *
+     * @param value 已验证的值
+     */
+    public void applyValue(T value) {
+        this.writeValue(value);
+        RGRuleSnapshot.publish(this, value);
+    }
+
+    /**
+     * 只写入字段，不发布快照，供批量更新在写入全部值后统一发布
+     *
+     * @param value 已验证的值
+     */
+    void writeValue(T value) {
+        this.handle.set(value);
     }
 
     /**
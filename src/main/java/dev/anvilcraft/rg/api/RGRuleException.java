@@ -96,4 +96,15 @@ public class RGRuleException extends RuntimeException {
     public static @NotNull RGRuleException unsupportedType(@NotNull String name, @NotNull Class<?> type) {
         return new RGRuleException("Field %s has unsupported type, this type can only be boolean, byte, int, long, float, double, String, but got %s", name, type.getTypeName());
     }
+
+    /**
+     * 静态工厂方法，用于创建表示字段类型与读取方式不匹配错误的异常
+     *
+     * @param name     字段名
+     * @param expected 期望的类型
+     * @return 创建的异常实例
+     */
+    public static @NotNull RGRuleException typeMismatch(@NotNull String name, @NotNull Class<?> expected) {
+        return new RGRuleException("Field %s is not of type %s", name, expected.getSimpleName());
+    }
 }
@@ -0,0 +1,59 @@
+package dev.anvilcraft.rg.api;
+
+import dev.anvilcraft.rg.api.event.RGRuleChangeEvent;
+import dev.anvilcraft.rg.api.event.RGRuleListener;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * RGRuleListeners保存单条规则的变更监听器
+ * <p>
+ * 它以身份比较，不会影响{@link RGRule}的equals与hashCode，因此注册监听器不会改变规则作为映射键时的行为
+ *
+ * @param <T> 规则值的类型
+ */
+public final class RGRuleListeners<T> {
+    private final CopyOnWriteArrayList<RGRuleListener<T>> listeners = new CopyOnWriteArrayList<>();
+
+    RGRuleListeners() {
+    }
+
+    /**
+     * 添加一个监听器
+     *
+     * @param listener 监听器
+     */
+    public void add(@NotNull RGRuleListener<T> listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * 移除一个监听器
+     *
+     * @param listener 监听器
+     * @return 监听器是否存在
+     */
+    public boolean remove(@NotNull RGRuleListener<T> listener) {
+        return this.listeners.remove(listener);
+    }
+
+    /**
+     * @return 是否没有任何监听器
+     */
+    public boolean isEmpty() {
+        return this.listeners.isEmpty();
+    }
+
+    /**
+     * 按注册顺序调用监听器，事件被取消后不再调用后续监听器
+     *
+     * @param event 规则更改事件
+     */
+    void fire(@NotNull RGRuleChangeEvent<T> event) {
+        for (RGRuleListener<T> listener : this.listeners) {
+            listener.onRuleChange(event);
+            if (event.isCanceled()) return;
+        }
+    }
+}
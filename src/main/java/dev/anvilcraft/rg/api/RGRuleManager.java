@@ -5,18 +5,26 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import dev.anvilcraft.rg.RollingGate;
+import dev.anvilcraft.rg.api.event.RGRuleBatchChangeEvent;
+import dev.anvilcraft.rg.api.event.RGRuleChangeEvent;
 import net.neoforged.fml.loading.FMLPaths;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.server.ServerLifecycleHooks;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Field;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 /**
  * RollingGate规则管理器，负责处理和存储规则配置
@@ -28,6 +36,8 @@ public class RGRuleManager {
     protected final RGEnvironment environment;
     // 存储规则的映射表
     protected final Map<String, RGRule<?>> rules = new HashMap<>();
+    // 以字段名称索引规则的映射表，供命令查找规则
+    protected final Map<String, RGRule<?>> namedRules = new HashMap<>();
     // 管理器的命名空间
     protected final String managerNamespace;
     // 全局配置文件路径
@@ -36,8 +46,10 @@ public class RGRuleManager {
     protected final Map<RGRule<?>, Object> globalConfig = new HashMap<>();
     // 默认命名空间
     protected String namespace = "rolling_gate";
-    // 存储规则类别的列表
-    protected final Set<String> categories = new HashSet<>();
+    // 存储规则类别的列表，按名称排序
+    protected final Set<String> categories = new TreeSet<>();
+    // 类别到规则的索引，类别内的规则按序列化名称排序
+    protected final Map<String, Map<String, RGRule<?>>> categoryIndex = new HashMap<>();
 
     // 静态代码块，初始化Gson实例
     static {
@@ -65,13 +77,40 @@ public class RGRuleManager {
     }
 
     /**
-     * 从配置文件中设置规则，并返回设置的结果
+     * 读取配置文件并验证其中的规则值，不会修改规则
+     * <p>
+     * 配置文件未变化时使用{@link RuleCache}中的结果，否则流式解析JSON，不会构建完整的Json树
+     *
+     * @param path 配置文件路径
+     * @return 规则与解码后的值，按配置文件中的顺序排列
+     * @throws RGRuleException 当配置文件无法读取或存在非法值时抛出
+     */
+    protected @NotNull Map<RGRule<?>, Object> readRules(@NotNull Path path) {
+        // 配置文件未变化时直接读取二进制缓存，否则流式解析JSON并重建缓存
+        return RuleCache.read(path, this.rules, input -> {
+            Map<RGRule<?>, Object> result = new LinkedHashMap<>();
+            ConfigUtil.readContent(input, (key, reader) -> {
+                RGRule<?> rule = this.rules.get(key);
+                if (rule == null) {
+                    RollingGate.LOGGER.warn("{} not exist.", key);
+                    reader.skipValue();
+                    return;
+                }
+                result.put(rule, rule.parseValue(reader));
+            });
+            return result;
+        });
+    }
+
+    /**
+     * 从配置文件中读取并验证规则值，不会修改任何规则
      *
      * @param config 配置文件内容
-     * @return 返回设置后的规则映射表
+     * @return 返回验证后的规则映射表，保持配置文件中的顺序
+     * @throws RGRuleException 如果任意一个值不合法，则抛出此异常
      */
-    protected @NotNull Map<RGRule<?>, Object> setSaveRules(@NotNull JsonObject config) {
-        Map<RGRule<?>, Object> result = new HashMap<>();
+    protected @NotNull Map<RGRule<?>, Object> readRules(@NotNull JsonObject config) {
+        Map<RGRule<?>, Object> result = new LinkedHashMap<>();
         // 遍历配置文件中的每个规则
         for (Map.Entry<String, JsonElement> entry : config.entrySet()) {
             RGRule<?> rule = this.rules.get(entry.getKey());
@@ -79,13 +118,137 @@ public class RGRuleManager {
                 RollingGate.LOGGER.warn("{}({}) not exist.", entry.getKey(), entry.getValue());
                 continue;
             }
-            // 设置规则的字段值
-            rule.setFieldValue(entry.getValue());
-            result.put(rule, rule.getValue());
+            result.put(rule, rule.parseValue(entry.getValue()));
         }
         return result;
     }
 
+    /**
+     * 从配置文件中设置规则，并返回设置的结果
+     *
+     * @param config 配置文件内容
+     * @return 返回设置后的规则映射表
+     */
+    protected @NotNull Map<RGRule<?>, Object> setSaveRules(@NotNull JsonObject config) {
+        return this.applyRules(this.readRules(config));
+    }
+
+    /**
+     * 批量设置规则的值，并将生效的值作为默认值保存
+     * <p>
+     * 所有值都会先经过验证，只要有一个值不合法就不会修改任何规则；
+     * 全部合法后一次性写入，只发布一个{@link RGRuleBatchChangeEvent}，并只提交一次配置文件的写入
+     *
+     * @param values 规则序列化名称到新值的映射
+     * @return 返回设置后的规则映射表
+     * @throws RGRuleException 如果规则不存在或任意一个值不合法，则抛出此异常
+     */
+    public @NotNull Map<RGRule<?>, Object> setRules(@NotNull Map<String, String> values) {
+        Map<RGRule<?>, Object> parsed = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            RGRule<?> rule = this.rules.get(entry.getKey());
+            if (rule == null) throw new RGRuleException("Rule %s is not exist", entry.getKey());
+            parsed.put(rule, rule.parseValue(entry.getValue()));
+        }
+        Map<RGRule<?>, Object> accepted = this.apply(parsed);
+        // 只保存已经生效的值，被取消的规则保持原来的默认值
+        Map<RGRule<?>, Object> saved = new LinkedHashMap<>();
+        for (Map.Entry<RGRule<?>, Object> entry : parsed.entrySet()) {
+            RGRule<?> rule = entry.getKey();
+            Object value = rule.getValue();
+            if (accepted.containsKey(rule) || Objects.equals(value, entry.getValue())) saved.put(rule, value);
+        }
+        if (!saved.isEmpty()) this.saveRules(saved);
+        Map<RGRule<?>, Object> result = new LinkedHashMap<>();
+        for (RGRule<?> rule : parsed.keySet()) result.put(rule, rule.getValue());
+        return result;
+    }
+
+    /**
+     * 将规则值保存为默认值，所有值只提交一次写入
+     * <p>
+     * 默认保存到全局配置文件中，子类可以保存到其他配置文件
+     *
+     * @param values 已经生效的规则值
+     */
+    protected void saveRules(@NotNull Map<RGRule<?>, Object> values) {
+        this.globalConfig.putAll(values);
+        // 在当前线程中复制配置，序列化与写入交给后台线程
+        Map<RGRule<?>, Object> snapshot = new HashMap<>(this.globalConfig);
+        ConfigWriter.submit(this.globalConfigPath, () -> GSON.toJson(this.getSerializedConfig(snapshot)));
+    }
+
+    /**
+     * 一次性写入已经验证过的规则值，并发布一个批量更改事件
+     *
+     * @param values 已验证的规则值
+     * @return 返回设置后的规则映射表，包含本批次中所有规则的当前值
+     */
+    protected @NotNull Map<RGRule<?>, Object> applyRules(@NotNull Map<RGRule<?>, Object> values) {
+        this.apply(values);
+        Map<RGRule<?>, Object> result = new LinkedHashMap<>();
+        for (RGRule<?> rule : values.keySet()) result.put(rule, rule.getValue());
+        return result;
+    }
+
+    /**
+     * 先发布批量更改事件，事件未被取消时再调用各规则的监听器并写入
+     * <p>
+     * 规则的监听器可能带有副作用（如更新视距），因此只对批量事件接受的值调用；被监听器取消的规则不会写入
+     *
+     * @param values 已验证的规则值
+     * @return 实际写入的规则值
+     */
+    private @NotNull Map<RGRule<?>, Object> apply(@NotNull Map<RGRule<?>, Object> values) {
+        Map<RGRule<?>, Object> oldValues = new LinkedHashMap<>();
+        Map<RGRule<?>, Object> newValues = new LinkedHashMap<>();
+        for (Map.Entry<RGRule<?>, Object> entry : values.entrySet()) {
+            RGRule<?> rule = entry.getKey();
+            Object oldValue = rule.getValue();
+            // 值没有变化的规则不参与事件
+            if (Objects.equals(oldValue, entry.getValue())) continue;
+            oldValues.put(rule, oldValue);
+            newValues.put(rule, entry.getValue());
+        }
+        if (newValues.isEmpty()) return Map.of();
+        RGRuleBatchChangeEvent event;
+        if (this.environment.isServer()) {
+            event = new RGRuleBatchChangeEvent.Server(oldValues, newValues, ServerLifecycleHooks.getCurrentServer());
+        } else {
+            event = new RGRuleBatchChangeEvent.Client(oldValues, newValues);
+        }
+        NeoForge.EVENT_BUS.post(event);
+        if (event.isCanceled()) return Map.of();
+        Map<RGRule<?>, Object> accepted = new LinkedHashMap<>();
+        for (Map.Entry<RGRule<?>, Object> entry : event.getNewValues().entrySet()) {
+            RGRule<?> rule = entry.getKey();
+            Object oldValue = oldValues.get(rule);
+            Object newValue = entry.getValue();
+            if (Objects.equals(oldValue, newValue)) continue;
+            if (!rule.listeners().isEmpty()) {
+                RGRuleChangeEvent<?> ruleEvent = RGRuleManager.fireListeners(rule, oldValue, newValue);
+                if (ruleEvent.isCanceled()) continue;
+                newValue = ruleEvent.getNewValue();
+                if (Objects.equals(oldValue, newValue)) continue;
+            }
+            RGRuleManager.writeValue(rule, newValue);
+            accepted.put(rule, newValue);
+        }
+        // 整批写入完成后只发布一个快照
+        if (!accepted.isEmpty()) RGRuleSnapshot.publish(accepted);
+        return accepted;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> @NotNull RGRuleChangeEvent<T> fireListeners(@NotNull RGRule<T> rule, Object oldValue, Object newValue) {
+        return rule.fireListeners((T) oldValue, (T) newValue);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void writeValue(@NotNull RGRule<T> rule, Object value) {
+        rule.writeValue((T) value);
+    }
+
     /**
      * 序列化配置映射表
      *
@@ -108,7 +271,7 @@ public class RGRuleManager {
     public void reInit() {
         this.globalConfig.clear();
         // 从配置文件中重新加载并设置规则
-        this.globalConfig.putAll(this.setSaveRules(ConfigUtil.getOrCreateContent(globalConfigPath)));
+        this.globalConfig.putAll(this.applyRules(this.readRules(globalConfigPath)));
     }
 
     /**
@@ -117,9 +280,35 @@ public class RGRuleManager {
      * @param rule 要添加的规则
      */
     public void addRule(@NotNull RGRule<?> rule) {
-        this.rules.put(rule.serialize(), rule);
-        // 添加规则的类别到类别列表
-        this.categories.addAll(Arrays.asList(rule.categories()));
+        this.addRules(List.of(rule));
+    }
+
+    /**
+     * 批量添加规则到管理器，并只发布一次快照
+     *
+     * @param rules 要添加的规则
+     */
+    public void addRules(@NotNull Collection<RGRule<?>> rules) {
+        Map<RGRule<?>, Object> values = new HashMap<>();
+        for (RGRule<?> rule : rules) {
+            RGRule<?> previous = this.rules.put(rule.serialize(), rule);
+            // 同名规则被替换时，先从旧规则的索引中移除
+            if (previous != null) {
+                this.namedRules.remove(previous.name());
+                for (String category : previous.categories()) {
+                    Map<String, RGRule<?>> index = this.categoryIndex.get(category);
+                    if (index != null) index.remove(previous.serialize());
+                }
+            }
+            this.namedRules.put(rule.name(), rule);
+            // 添加规则的类别到类别列表，并增量更新类别索引
+            for (String category : rule.categories()) {
+                this.categories.add(category);
+                this.categoryIndex.computeIfAbsent(category, k -> new TreeMap<>()).put(rule.serialize(), rule);
+            }
+            values.put(rule, rule.getValue());
+        }
+        RGRuleSnapshot.publish(values);
     }
 
     /**
@@ -139,14 +328,34 @@ public class RGRuleManager {
         return ruleList;
     }
 
+    /**
+     * 按序列化名称获取规则，并检查其类型
+     *
+     * @param serialize 规则的序列化名称
+     * @param type      规则值的类型，基本类型使用其包装类
+     * @param <T>       规则值的类型
+     * @return 规则
+     * @throws RGRuleException 当规则不存在或类型不匹配时抛出
+     */
+    @SuppressWarnings("unchecked")
+    public <T> @NotNull RGRule<T> getRule(@NotNull String serialize, @NotNull Class<T> type) {
+        RGRule<?> rule = this.rules.get(serialize);
+        if (rule == null) throw new RGRuleException("Rule %s is not exist", serialize);
+        if (rule.type() != type) throw RGRuleException.typeMismatch(rule.name(), type);
+        return (RGRule<T>) rule;
+    }
+
     /**
      * 注册规则类
      *
      * @param rules 规则类
      */
     public void register(Class<?> rules) {
+        // 优先使用注解处理器生成的注册表，没有时退回到反射
+        RGRuleRegistry registry = RGRuleRegistry.find(rules);
+        List<RGRule<?>> ruleList = registry != null ? registry.create(this.namespace) : RGRuleManager.of(this.namespace, rules);
         // 创建并添加规则到管理器
-        RGRuleManager.of(this.namespace, rules).forEach(this::addRule);
+        this.addRules(ruleList);
     }
 
     /**
@@ -158,6 +367,26 @@ public class RGRuleManager {
         this.namespace = namespace;
     }
 
+    /**
+     * 获取所有类别
+     *
+     * @return 按名称排序的类别集合，不可修改
+     */
+    public @NotNull Set<String> getCategories() {
+        return Collections.unmodifiableSet(this.categories);
+    }
+
+    /**
+     * 获取指定类别中的规则，开销只与该类别中的规则数量有关
+     *
+     * @param category 类别名称
+     * @return 按序列化名称排序的规则，不可修改；类别不存在时返回空集合
+     */
+    public @NotNull Collection<RGRule<?>> getRulesInCategory(@NotNull String category) {
+        Map<String, RGRule<?>> index = this.categoryIndex.get(category);
+        return index == null ? List.of() : Collections.unmodifiableCollection(index.values());
+    }
+
     /**
      * 获取分组翻译键
      *
@@ -0,0 +1,52 @@
+package dev.anvilcraft.rg.api;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * RGRuleRegistry接口表示由注解处理器在编译期为规则类生成的静态注册表
+ * <p>
+ * 注册表中包含预先计算好的序列化名称、验证器实例以及编解码器，
+ * 使规则管理器无需在运行时遍历字段和解析注解
+ */
+public interface RGRuleRegistry {
+    /**
+     * 生成的注册表类名后缀，注册表类与规则类位于同一个包中
+     */
+    String SUFFIX = "_RGRegistry";
+
+    /**
+     * 创建规则类中声明的所有规则
+     *
+     * @param namespace 命名空间
+     * @return 规则列表
+     */
+    @NotNull List<RGRule<?>> create(String namespace);
+
+    /**
+     * 查找规则类对应的生成注册表
+     * <p>
+     * 注解处理器会将生成的注册表写入{@code META-INF/services}，此处通过{@link ServiceLoader}按类名匹配，
+     * 只会实例化匹配的注册表，规则类没有注册表时也不会抛出异常
+     *
+     * @param rules 规则类
+     * @return 生成的注册表，如果规则类没有经过注解处理器处理，则返回null
+     * @throws RGRuleException 如果注册表存在但无法实例化，则抛出此异常
+     */
+    static @Nullable RGRuleRegistry find(@NotNull Class<?> rules) {
+        String name = rules.getName() + RGRuleRegistry.SUFFIX;
+        ServiceLoader<RGRuleRegistry> loader = ServiceLoader.load(RGRuleRegistry.class, rules.getClassLoader());
+        try {
+            for (ServiceLoader.Provider<RGRuleRegistry> provider : loader.stream().toList()) {
+                if (provider.type().getName().equals(name)) return provider.get();
+            }
+        } catch (ServiceConfigurationError e) {
+            throw new RGRuleException("Failed to load rule registry %s".formatted(name), e);
+        }
+        return null;
+    }
+}
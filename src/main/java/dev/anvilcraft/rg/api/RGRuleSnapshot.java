@@ -0,0 +1,148 @@
+package dev.anvilcraft.rg.api;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * RGRuleSnapshot是所有规则值的不可变快照，用于在服务器线程之外安全地读取规则
+ * <p>
+ * 每次通过{@link RGRule}或{@link RGRuleManager}修改规则时，都会复制一份新的快照，
+ * 并通过一个volatile引用发布，同时递增代数。工作线程读取快照时无需加锁，也不会读到只更新了一半的值；
+ * 缓存可以通过比较代数判断规则是否发生过变化
+ */
+public final class RGRuleSnapshot {
+    // 写入快照时使用的锁，读取快照不需要加锁
+    private static final Object LOCK = new Object();
+    // 当前发布的快照
+    private static volatile RGRuleSnapshot current = new RGRuleSnapshot(0, Collections.emptyMap());
+    // 快照的代数，每次发布新快照时递增
+    private final long generation;
+    // 规则到值的不可变映射
+    private final Map<RGRule<?>, Object> values;
+
+    private RGRuleSnapshot(long generation, Map<RGRule<?>, Object> values) {
+        this.generation = generation;
+        this.values = values;
+    }
+
+    /**
+     * 获取当前发布的快照，可以在任意线程调用
+     *
+     * @return 当前的快照
+     */
+    public static @NotNull RGRuleSnapshot current() {
+        return RGRuleSnapshot.current;
+    }
+
+    /**
+     * 发布单个规则的新值
+     *
+     * @param rule  规则
+     * @param value 规则的新值
+     */
+    static void publish(@NotNull RGRule<?> rule, Object value) {
+        synchronized (LOCK) {
+            Map<RGRule<?>, Object> values = new HashMap<>(RGRuleSnapshot.current.values);
+            values.put(rule, value);
+            RGRuleSnapshot.current = new RGRuleSnapshot(RGRuleSnapshot.current.generation + 1, Collections.unmodifiableMap(values));
+        }
+    }
+
+    /**
+     * 一次性发布多个规则的新值，只产生一个新的快照
+     *
+     * @param changes 规则到新值的映射
+     */
+    static void publish(@NotNull Map<RGRule<?>, Object> changes) {
+        if (changes.isEmpty()) return;
+        synchronized (LOCK) {
+            Map<RGRule<?>, Object> values = new HashMap<>(RGRuleSnapshot.current.values);
+            values.putAll(changes);
+            RGRuleSnapshot.current = new RGRuleSnapshot(RGRuleSnapshot.current.generation + 1, Collections.unmodifiableMap(values));
+        }
+    }
+
+    /**
+     * 获取快照的代数
+     *
+     * @return 快照的代数，规则每发生一次变化都会递增
+     */
+    public long generation() {
+        return this.generation;
+    }
+
+    /**
+     * 获取快照中所有规则的值
+     *
+     * @return 不可修改的规则值映射
+     */
+    public @NotNull Map<RGRule<?>, Object> values() {
+        return this.values;
+    }
+
+    /**
+     * 获取规则在快照中的值
+     *
+     * @param rule 规则
+     * @param <T>  规则值的类型
+     * @return 规则的值，如果规则尚未注册则返回规则的默认值
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NotNull RGRule<T> rule) {
+        Object value = this.values.get(rule);
+        return value != null ? (T) value : rule.defaultValue();
+    }
+
+    /**
+     * 以boolean形式获取规则在快照中的值
+     *
+     * @param rule 规则
+     * @return 规则的值
+     */
+    public boolean getBoolean(@NotNull RGRule<Boolean> rule) {
+        return this.get(rule);
+    }
+
+    /**
+     * 以int形式获取规则在快照中的值
+     *
+     * @param rule 规则
+     * @return 规则的值
+     */
+    public int getInt(@NotNull RGRule<Integer> rule) {
+        return this.get(rule);
+    }
+
+    /**
+     * 以long形式获取规则在快照中的值
+     *
+     * @param rule 规则
+     * @return 规则的值
+     */
+    public long getLong(@NotNull RGRule<Long> rule) {
+        return this.get(rule);
+    }
+
+    /**
+     * 以float形式获取规则在快照中的值
+     *
+     * @param rule 规则
+     * @return 规则的值
+     */
+    public float getFloat(@NotNull RGRule<Float> rule) {
+        return this.get(rule);
+    }
+
+    /**
+     * 以double形式获取规则在快照中的值
+     *
+     * @param rule 规则
+     * @return 规则的值
+     */
+    public double getDouble(@NotNull RGRule<Double> rule) {
+        return this.get(rule);
+    }
+}
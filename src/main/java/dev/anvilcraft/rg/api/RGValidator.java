@@ -26,6 +26,21 @@ public interface RGValidator<T> {
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
     boolean validate(@NotNull T oldValue, @NotNull String newValue);
 
+    /**
+     * 验证已解码的新值是否有效
+     * <p>
+     * 默认实现使用编解码器将新值编码为字符串后调用{@link #validate(Object, String)}，
+     * 可以直接检查类型化值的验证器应覆盖此方法，以避免再次解析
+     *
+     * @param oldValue 旧值，用于比较或参考
+     * @param newValue 已解码的新值
+     * @param codec    规则的编解码器
+     * @return 如果新值有效则返回true，否则返回false
+     */
+    default boolean validateValue(@NotNull T oldValue, @NotNull T newValue, @NotNull RGCodec<T> codec) {
+        return this.validate(oldValue, codec.encode(newValue));
+    }
+
     /**
      * 输入值非法的原因
      *
@@ -44,6 +59,12 @@ public interface RGValidator<T> {
             return !newValue.isEmpty();
         }
 
+        @Override
+        public boolean validateValue(@NotNull String oldValue, @NotNull String newValue, @NotNull RGCodec<String> codec) {
+            // 字符串无需编码，直接验证，子类覆盖的验证逻辑同样生效
+            return this.validate(oldValue, newValue);
+        }
+
         @Override
         public String reason() {
             return "The input value must not be empty!";
@@ -80,6 +101,11 @@ public interface RGValidator<T> {
             return newValue.equals("true") || newValue.equals("false");
         }
 
+        @Override
+        public boolean validateValue(@NotNull Boolean oldValue, @NotNull Boolean newValue, @NotNull RGCodec<Boolean> codec) {
+            return true;
+        }
+
         @Override
         public String reason() {
             return "The input value must be true or false!";
@@ -93,6 +119,10 @@ public interface RGValidator<T> {
      * @param <T> 具体数字类型，如 Integer、Float 等
      */
     abstract class NumberValidator<T extends Number> implements RGValidator<T> {
+        private static final Map.Entry<Boolean, Boolean> INCLUSIVE = Map.entry(true, true);
+        // 预先计算的范围边界，只有实现了StaticRange的验证器才会缓存
+        private volatile Bounds bounds = null;
+
         /**
          * 获取数字的有效范围
          *
@@ -106,21 +136,51 @@ public interface RGValidator<T> {
          * @return 包含范围信息的Map.Entry对象，第一个元素表示最小值是否包含在内，第二个元素表示最大值是否包含在内
          */
         public Map.Entry<Boolean, Boolean> containsRange() {
-            return Map.entry(true, true);
+            return INCLUSIVE;
         }
 
         @Override
         public boolean validate(@NotNull T oldValue, @NotNull String newValue) {
             try {
-                T value = parse(newValue);
-                boolean flag1 = containsRange().getKey() ? value.doubleValue() >= getRange().getKey().doubleValue() : value.doubleValue() > getRange().getKey().doubleValue();
-                boolean flag2 = containsRange().getValue() ? value.doubleValue() <= getRange().getValue().doubleValue() : value.doubleValue() < getRange().getValue().doubleValue();
-                return flag1 && flag2;
+                return this.inRange(this.parseAsDouble(newValue));
             } catch (NumberFormatException e) {
                 return false;
             }
         }
 
+        @Override
+        public boolean validateValue(@NotNull T oldValue, @NotNull T newValue, @NotNull RGCodec<T> codec) {
+            return this.inRange(newValue.doubleValue());
+        }
+
+        /**
+         * 检查数字是否在有效范围内
+         * <p>
+         * 默认每次检查都会调用{@link #getRange()}与{@link #containsRange()}，范围可以随其他规则或配置变化；
+         * 实现了{@link StaticRange}的验证器只在第一次使用时读取范围，并缓存为基本类型
+         *
+         * @param value 待检查的数字
+         * @return 如果数字在范围内则返回true，否则返回false
+         */
+        protected boolean inRange(double value) {
+            Bounds bounds = this.bounds;
+            if (bounds != null) return NumberValidator.inRange(value, bounds.min(), bounds.max(), bounds.includeMin(), bounds.includeMax());
+            Map.Entry<T, T> range = this.getRange();
+            Map.Entry<Boolean, Boolean> contains = this.containsRange();
+            double min = range.getKey().doubleValue();
+            double max = range.getValue().doubleValue();
+            boolean includeMin = contains.getKey();
+            boolean includeMax = contains.getValue();
+            if (this instanceof StaticRange) this.bounds = new Bounds(min, max, includeMin, includeMax);
+            return NumberValidator.inRange(value, min, max, includeMin, includeMax);
+        }
+
+        private static boolean inRange(double value, double min, double max, boolean includeMin, boolean includeMax) {
+            boolean flag1 = includeMin ? value >= min : value > min;
+            boolean flag2 = includeMax ? value <= max : value < max;
+            return flag1 && flag2;
+        }
+
         @Override
         public String reason() {
             return "The input value must be between " + getRange().getKey().toString() + " and " + getRange().getValue().toString() + "!";
@@ -133,6 +193,26 @@ public interface RGValidator<T> {
          * @return 解析后的数字
          */
         protected abstract T parse(@NotNull String newValue);
+
+        /**
+         * 解析字符串为double，子类可以覆盖此方法以避免装箱
+         *
+         * @param newValue 待解析的字符串
+         * @return 解析后的数字
+         */
+        protected double parseAsDouble(@NotNull String newValue) {
+            return this.parse(newValue).doubleValue();
+        }
+
+        private record Bounds(double min, double max, boolean includeMin, boolean includeMax) {
+        }
+    }
+
+    /**
+     * StaticRange 接口标记数字验证器的范围固定不变
+     * 实现此接口的{@link NumberValidator}会缓存第一次读取的范围，之后的验证不再调用{@link NumberValidator#getRange()}
+     */
+    interface StaticRange {
     }
 
     /**
@@ -142,6 +222,11 @@ public interface RGValidator<T> {
         protected Byte parse(@NotNull String newValue) {
             return Byte.parseByte(newValue);
         }
+
+        @Override
+        protected double parseAsDouble(@NotNull String newValue) {
+            return Byte.parseByte(newValue);
+        }
     }
 
     /**
@@ -151,6 +236,11 @@ public interface RGValidator<T> {
         protected Short parse(@NotNull String newValue) {
             return Short.parseShort(newValue);
         }
+
+        @Override
+        protected double parseAsDouble(@NotNull String newValue) {
+            return Short.parseShort(newValue);
+        }
     }
 
     /**
@@ -160,6 +250,11 @@ public interface RGValidator<T> {
         protected Integer parse(@NotNull String newValue) {
             return Integer.parseInt(newValue);
         }
+
+        @Override
+        protected double parseAsDouble(@NotNull String newValue) {
+            return Integer.parseInt(newValue);
+        }
     }
 
     /**
@@ -169,6 +264,11 @@ public interface RGValidator<T> {
         protected Long parse(@NotNull String newValue) {
             return Long.parseLong(newValue);
         }
+
+        @Override
+        protected double parseAsDouble(@NotNull String newValue) {
+            return Long.parseLong(newValue);
+        }
     }
 
     /**
@@ -178,6 +278,11 @@ public interface RGValidator<T> {
         protected Float parse(@NotNull String newValue) {
             return Float.parseFloat(newValue);
         }
+
+        @Override
+        protected double parseAsDouble(@NotNull String newValue) {
+            return Float.parseFloat(newValue);
+        }
     }
 
     /**
@@ -187,6 +292,11 @@ public interface RGValidator<T> {
         protected Double parse(@NotNull String newValue) {
             return Double.parseDouble(newValue);
         }
+
+        @Override
+        protected double parseAsDouble(@NotNull String newValue) {
+            return Double.parseDouble(newValue);
+        }
     }
 
     /**
@@ -14,7 +14,7 @@ import java.lang.annotation.Target;
 public @interface Rule {
     /**
      * 指定配置项适用的环境，默认为服务器环境
-     * 这有助于在不同的运行环境下正确地应用配置规则
+     * 这有助于在不同的运行环境下正确地应用配置规则，{@link RGEnvironment#SYNCED}的规则的值会同步到客户端
      *
      * @return RGEnvironment枚举值，表示配置项适用的环境
      */
@@ -0,0 +1,216 @@
+package dev.anvilcraft.rg.api;
+
+import dev.anvilcraft.rg.RollingGate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+
+/**
+ * RuleCache为规则配置文件维护一个紧凑的二进制缓存
+ * <p>
+ * 缓存以配置文件的大小、修改时间、内容哈希以及已注册规则的指纹为键，保存已解析并验证过的规则值。
+ * 配置文件未变化时直接从缓存读取，不再解析JSON；否则回退到JSON解析并重建缓存
+ */
+public final class RuleCache {
+    // 缓存文件的魔数 "RGC1"
+    private static final int MAGIC = 0x52474331;
+    // 缓存格式版本，格式变化时递增
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".rgcache";
+
+    private static final byte NULL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte BYTE = 2;
+    private static final byte SHORT = 3;
+    private static final byte INTEGER = 4;
+    private static final byte LONG = 5;
+    private static final byte FLOAT = 6;
+    private static final byte DOUBLE = 7;
+    private static final byte STRING = 8;
+
+    private RuleCache() {
+    }
+
+    /**
+     * 读取规则配置文件，缓存有效时直接使用缓存
+     *
+     * @param config 配置文件路径，不存在时会创建一个空的配置文件
+     * @param rules  序列化名称到规则的映射
+     * @param parser 缓存失效时使用的JSON解析函数
+     * @return 规则与解码后的值
+     * @throws RGRuleException 当配置文件无法读取或存在非法值时抛出
+     */
+    public static @NotNull Map<RGRule<?>, Object> read(
+        @NotNull Path config,
+        @NotNull Map<String, RGRule<?>> rules,
+        @NotNull Function<Reader, Map<RGRule<?>, Object>> parser
+    ) {
+        long size;
+        long modified;
+        byte[] content;
+        try {
+            // 不存在的配置文件写入空JSON对象，与ConfigUtil保持一致
+            if (!Files.isRegularFile(config)) ConfigUtil.writeContent(config, "{}");
+            BasicFileAttributes attributes = Files.readAttributes(config, BasicFileAttributes.class);
+            size = attributes.size();
+            modified = attributes.lastModifiedTime().toMillis();
+            content = Files.readAllBytes(config);
+        } catch (IOException e) {
+            throw new RGRuleException("Failed to read rolling gate config file", e);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(content);
+        long hash = crc.getValue();
+        // 规则集合变化时，之前被忽略的键可能变得有效，因此规则指纹也是缓存键的一部分
+        long fingerprint = RuleCache.fingerprint(rules);
+        Path cache = RuleCache.cachePath(config);
+        Map<RGRule<?>, Object> cached = RuleCache.load(cache, rules, size, modified, hash, fingerprint);
+        if (cached != null) return cached;
+        Map<RGRule<?>, Object> values = parser.apply(new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8));
+        RuleCache.save(cache, values, size, modified, hash, fingerprint);
+        return values;
+    }
+
+    private static long fingerprint(@NotNull Map<String, RGRule<?>> rules) {
+        long result = rules.size();
+        for (Map.Entry<String, RGRule<?>> entry : rules.entrySet()) {
+            long value = entry.getKey().hashCode() * 31L + entry.getValue().type().getName().hashCode();
+            // 与顺序无关的组合，避免依赖映射的迭代顺序
+            value *= 0x9E3779B97F4A7C15L;
+            result += value ^ (value >>> 32);
+        }
+        return result;
+    }
+
+    private static @NotNull Path cachePath(@NotNull Path config) {
+        return config.resolveSibling(config.getFileName() + SUFFIX);
+    }
+
+    private static @Nullable Map<RGRule<?>, Object> load(
+        @NotNull Path cache, @NotNull Map<String, RGRule<?>> rules, long size, long modified, long hash, long fingerprint
+    ) {
+        if (!Files.isRegularFile(cache)) return null;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(cache)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) return null;
+            if (input.readLong() != size || input.readLong() != modified || input.readLong() != hash) return null;
+            if (input.readLong() != fingerprint) return null;
+            int count = input.readInt();
+            Map<RGRule<?>, Object> values = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                String key = input.readUTF();
+                byte tag = input.readByte();
+                RGRule<?> rule = rules.get(key);
+                // 规则已不存在或类型已改变时缓存失效
+                if (rule == null) return null;
+                if (tag != NULL && tag != RuleCache.tagOf(rule.type())) return null;
+                Object value = RuleCache.readValue(input, tag, rule);
+                RuleCache.validate(rule, value);
+                values.put(rule, value);
+            }
+            return values;
+        } catch (IOException | RuntimeException e) {
+            RollingGate.LOGGER.debug("Ignored invalid rule cache {}", cache, e);
+            return null;
+        }
+    }
+
+    private static void save(
+        @NotNull Path cache, @NotNull Map<RGRule<?>, Object> values, long size, long modified, long hash, long fingerprint
+    ) {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(cache)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(size);
+            output.writeLong(modified);
+            output.writeLong(hash);
+            output.writeLong(fingerprint);
+            output.writeInt(values.size());
+            for (Map.Entry<RGRule<?>, Object> entry : values.entrySet()) {
+                output.writeUTF(entry.getKey().serialize());
+                RuleCache.writeValue(output, entry.getKey(), entry.getValue());
+            }
+        } catch (IOException e) {
+            RollingGate.LOGGER.warn("Failed to write rule cache {}", cache, e);
+            try {
+                Files.deleteIfExists(cache);
+            } catch (IOException ignored) {
+                // 缓存损坏时会在读取时被忽略
+            }
+        }
+    }
+
+    private static byte tagOf(@NotNull Class<?> type) {
+        if (type == Boolean.class) return BOOLEAN;
+        if (type == Byte.class) return BYTE;
+        if (type == Short.class) return SHORT;
+        if (type == Integer.class) return INTEGER;
+        if (type == Long.class) return LONG;
+        if (type == Float.class) return FLOAT;
+        if (type == Double.class) return DOUBLE;
+        return STRING;
+    }
+
+    private static <T> void writeValue(@NotNull DataOutputStream output, @NotNull RGRule<T> rule, Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+            return;
+        }
+        byte tag = RuleCache.tagOf(rule.type());
+        output.writeByte(tag);
+        switch (tag) {
+            case BOOLEAN -> output.writeBoolean((Boolean) value);
+            case BYTE -> output.writeByte((Byte) value);
+            case SHORT -> output.writeShort((Short) value);
+            case INTEGER -> output.writeInt((Integer) value);
+            case LONG -> output.writeLong((Long) value);
+            case FLOAT -> output.writeFloat((Float) value);
+            case DOUBLE -> output.writeDouble((Double) value);
+            default -> {
+                // 字符串与自定义类型统一使用编解码器的字符串形式
+                byte[] bytes = rule.codec().encode(rule.type().cast(value)).getBytes(StandardCharsets.UTF_8);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+        }
+    }
+
+    private static Object readValue(@NotNull DataInputStream input, byte tag, @NotNull RGRule<?> rule) throws IOException {
+        return switch (tag) {
+            case NULL -> null;
+            case BOOLEAN -> input.readBoolean();
+            case BYTE -> input.readByte();
+            case SHORT -> input.readShort();
+            case INTEGER -> input.readInt();
+            case LONG -> input.readLong();
+            case FLOAT -> input.readFloat();
+            case DOUBLE -> input.readDouble();
+            default -> {
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                yield rule.codec().decode(new String(bytes, StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void validate(@NotNull RGRule<T> rule, Object value) {
+        // 验证器可能在缓存写入后发生变化，因此仍然需要验证
+        rule.validate((T) value);
+    }
+}
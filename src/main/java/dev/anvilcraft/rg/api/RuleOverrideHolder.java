@@ -0,0 +1,30 @@
+package dev.anvilcraft.rg.api;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 可以覆盖规则值的对象，由Mixin实现
+ * <p>
+ * 覆盖值保存在以{@link RGRule#id()}为下标的数组中，为null的位置表示没有覆盖。
+ * 修改覆盖值时需要替换整个数组而不是修改数组中的元素，这样其他线程读取时不会看到只更新了一半的数组
+ */
+public interface RuleOverrideHolder {
+    /**
+     * 没有任何覆盖值的数组
+     */
+    Object[] EMPTY = new Object[0];
+
+    /**
+     * 获取覆盖值数组
+     *
+     * @return 覆盖值数组，不能修改
+     */
+    Object @NotNull [] rolling_gate$getRuleOverrides();
+
+    /**
+     * 替换覆盖值数组
+     *
+     * @param overrides 新的覆盖值数组
+     */
+    void rolling_gate$setRuleOverrides(Object @NotNull [] overrides);
+}
@@ -2,12 +2,23 @@ package dev.anvilcraft.rg.api.client;
 
 import dev.anvilcraft.rg.api.RGEnvironment;
 import dev.anvilcraft.rg.api.RGRuleManager;
+import dev.anvilcraft.rg.network.RuleSyncPayload;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ClientRGRuleManager类是RGRuleManager的子类，专门用于客户端环境
  * 它通过继承RGRuleManager类并指定环境为客户端，来管理客户端特定的规则
+ * <p>
+ * 同时保存服务器同步过来的规则值，只有环境为{@link RGEnvironment#SYNCED}的规则会被同步
  */
 public class ClientRGRuleManager extends RGRuleManager {
+    // 命名空间到服务器同步的规则值
+    private static final Map<String, ServerValues> SERVER_VALUES = new ConcurrentHashMap<>();
+
     /**
      * 初始化ClientRGRuleManager对象，设置命名空间和环境
      *
@@ -16,5 +27,77 @@ public class ClientRGRuleManager extends RGRuleManager {
     public ClientRGRuleManager(String namespace) {
         super(namespace, RGEnvironment.CLIENT);
     }
-}
 
+    /**
+     * 获取服务器同步的规则值
+     * <p>
+     * 字符串与自定义类型的值以编解码器编码后的字符串形式保存
+     *
+     * @param namespace 服务器规则管理器的命名空间
+     * @param serialize 规则的序列化名称
+     * @return 规则的值，服务器未同步此规则时返回null
+     */
+    public static @Nullable Object getServerValue(String namespace, String serialize) {
+        ServerValues values = SERVER_VALUES.get(namespace);
+        return values != null ? values.values().get(serialize) : null;
+    }
+
+    /**
+     * 获取服务器同步的规则值
+     *
+     * @param namespace    服务器规则管理器的命名空间
+     * @param serialize    规则的序列化名称
+     * @param type         值的类型
+     * @param defaultValue 服务器未同步此规则或类型不匹配时返回的值
+     * @param <T>          值的类型
+     * @return 规则的值
+     */
+    public static <T> T getServerValue(String namespace, String serialize, @NotNull Class<T> type, T defaultValue) {
+        Object value = ClientRGRuleManager.getServerValue(namespace, serialize);
+        return type.isInstance(value) ? type.cast(value) : defaultValue;
+    }
+
+    /**
+     * 应用服务器发送的同步数据包
+     *
+     * @param payload 同步数据包
+     */
+    public static void acceptServerValues(@NotNull RuleSyncPayload payload) {
+        if (payload.full()) {
+            String[] names = new String[payload.entries().size()];
+            Map<String, Object> values = new ConcurrentHashMap<>();
+            for (RuleSyncPayload.Entry entry : payload.entries()) {
+                if (entry.id() < 0 || entry.id() >= names.length) continue;
+                names[entry.id()] = entry.name();
+                if (entry.value() != null) values.put(entry.name(), entry.value());
+            }
+            SERVER_VALUES.put(payload.namespace(), new ServerValues(names, values));
+            return;
+        }
+        ServerValues current = SERVER_VALUES.get(payload.namespace());
+        if (current == null) return;
+        for (RuleSyncPayload.Entry entry : payload.entries()) {
+            if (entry.id() < 0 || entry.id() >= current.names().length) continue;
+            String name = current.names()[entry.id()];
+            if (name == null) continue;
+            if (entry.value() != null) {
+                current.values().put(name, entry.value());
+            } else {
+                current.values().remove(name);
+            }
+        }
+    }
+
+    /**
+     * 清空服务器同步的规则值，应在断开与服务器的连接时调用
+     */
+    public static void clearServerValues() {
+        SERVER_VALUES.clear();
+    }
+
+    /**
+     * 服务器同步的规则编号与值
+     */
+    private record ServerValues(String[] names, Map<String, Object> values) {
+    }
+}
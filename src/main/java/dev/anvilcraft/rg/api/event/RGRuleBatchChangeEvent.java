@@ -0,0 +1,139 @@
+package dev.anvilcraft.rg.api.event;
+
+import dev.anvilcraft.rg.api.RGRule;
+import net.minecraft.server.MinecraftServer;
+import net.neoforged.bus.api.Event;
+import net.neoforged.bus.api.ICancellableEvent;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 当一批规则同时发生变化时触发的事件。
+ * 一次批量更新只会发布一个此事件，取消事件会使整批更新都不生效。
+ * 此事件在各规则自身的监听器之前发布，只有此事件接受的新值才会交给规则的监听器。
+ */
+public class RGRuleBatchChangeEvent extends Event implements ICancellableEvent {
+    /**
+     * 规则的旧值。
+     */
+    private final Map<RGRule<?>, Object> oldValues;
+    /**
+     * 规则的新值。
+     */
+    private final Map<RGRule<?>, Object> newValues;
+
+    /**
+     * 构造一个新的批量规则更改事件。
+     *
+     * @param oldValues 规则的旧值。
+     * @param newValues 规则的新值，必须与旧值包含相同的规则。
+     */
+    public RGRuleBatchChangeEvent(Map<RGRule<?>, Object> oldValues, Map<RGRule<?>, Object> newValues) {
+        this.oldValues = Collections.unmodifiableMap(oldValues);
+        this.newValues = new LinkedHashMap<>(newValues);
+    }
+
+    /**
+     * 获取所有规则的旧值。
+     *
+     * @return 不可修改的旧值映射。
+     */
+    public Map<RGRule<?>, Object> getOldValues() {
+        return oldValues;
+    }
+
+    /**
+     * 获取所有规则的新值。
+     *
+     * @return 不可修改的新值映射。
+     */
+    public Map<RGRule<?>, Object> getNewValues() {
+        return Collections.unmodifiableMap(newValues);
+    }
+
+    /**
+     * 获取指定规则的旧值。
+     *
+     * @param rule 规则。
+     * @param <T>  规则值的类型。
+     * @return 规则的旧值，如果规则不在本批次中则返回null。
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOldValue(RGRule<T> rule) {
+        return (T) oldValues.get(rule);
+    }
+
+    /**
+     * 获取指定规则的新值。
+     *
+     * @param rule 规则。
+     * @param <T>  规则值的类型。
+     * @return 规则的新值，如果规则不在本批次中则返回null。
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getNewValue(RGRule<T> rule) {
+        return (T) newValues.get(rule);
+    }
+
+    /**
+     * 设置指定规则的新值。
+     * 这允许在事件处理过程中更改规则的值，规则必须已经在本批次中。
+     *
+     * @param rule     规则。
+     * @param newValue 规则的新值。
+     * @param <T>      规则值的类型。
+     */
+    public <T> void setNewValue(RGRule<T> rule, T newValue) {
+        if (!newValues.containsKey(rule)) return;
+        newValues.put(rule, newValue);
+    }
+
+    /**
+     * 针对服务器端的批量规则更改事件。
+     * 包含对服务器实例的引用。
+     */
+    public static class Server extends RGRuleBatchChangeEvent {
+        /**
+         * 服务器实例。
+         */
+        private final MinecraftServer server;
+
+        /**
+         * 构造一个新的服务器端批量规则更改事件。
+         *
+         * @param oldValues 规则的旧值。
+         * @param newValues 规则的新值。
+         * @param server    服务器实例。
+         */
+        public Server(Map<RGRule<?>, Object> oldValues, Map<RGRule<?>, Object> newValues, MinecraftServer server) {
+            super(oldValues, newValues);
+            this.server = server;
+        }
+
+        /**
+         * 获取服务器实例。
+         *
+         * @return 服务器实例。
+         */
+        public MinecraftServer getServer() {
+            return server;
+        }
+    }
+
+    /**
+     * 针对客户端的批量规则更改事件。
+     */
+    public static class Client extends RGRuleBatchChangeEvent {
+        /**
+         * 构造一个新的客户端批量规则更改事件。
+         *
+         * @param oldValues 规则的旧值。
+         * @param newValues 规则的新值。
+         */
+        public Client(Map<RGRule<?>, Object> oldValues, Map<RGRule<?>, Object> newValues) {
+            super(oldValues, newValues);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package dev.anvilcraft.rg.api.event;
+
+/**
+ * 单条规则的变更监听器。
+ * 通过{@link dev.anvilcraft.rg.api.RGRule#addListener(RGRuleListener)}注册后，只有该规则变更时才会被直接调用，
+ * 调用顺序与注册顺序一致，且早于{@link net.neoforged.neoforge.common.NeoForge#EVENT_BUS}上的事件。
+ *
+ * @param <T> 规则值的类型。
+ */
+@FunctionalInterface
+public interface RGRuleListener<T> {
+    /**
+     * 规则即将变更时调用。
+     * 可以通过{@link RGRuleChangeEvent#setCanceled(boolean)}取消本次变更，
+     * 或通过{@link RGRuleChangeEvent#setNewValue(Object)}改写将要写入的值。
+     *
+     * @param event 规则更改事件，服务器端为{@link RGRuleChangeEvent.Server}，客户端为{@link RGRuleChangeEvent.Client}。
+     */
+    void onRuleChange(RGRuleChangeEvent<T> event);
+}
@@ -0,0 +1,102 @@
+package dev.anvilcraft.rg.api.server;
+
+import dev.anvilcraft.rg.RollingGate;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ConfigWatcher在后台线程中监听配置文件的外部修改
+ * <p>
+ * 短时间内的多次修改会被合并，每个发生变化的文件只触发一次回调。回调在监听线程中调用，
+ * 需要访问游戏状态的回调应自行切换到服务器线程
+ */
+public class ConfigWatcher implements Closeable {
+    // 合并修改事件的等待时间（毫秒）
+    private static final long DEBOUNCE = 200;
+    private final WatchService service;
+    // 被监听的文件及其回调
+    private final Map<Path, Runnable> files = new HashMap<>();
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+
+    /**
+     * 开始监听指定的文件
+     *
+     * @param files 文件路径到修改回调的映射
+     * @throws IOException 无法监听文件所在的目录时抛出
+     */
+    public ConfigWatcher(@NotNull Map<Path, Runnable> files) throws IOException {
+        this.service = FileSystems.getDefault().newWatchService();
+        for (Map.Entry<Path, Runnable> entry : files.entrySet()) {
+            Path file = entry.getKey().toAbsolutePath().normalize();
+            Path directory = file.getParent();
+            this.files.put(file, entry.getValue());
+            if (this.directories.containsValue(directory)) continue;
+            WatchKey key = directory.register(
+                this.service,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY
+            );
+            this.directories.put(key, directory);
+        }
+        Thread thread = new Thread(this::run, "RollingGate Config Watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Set<Path> changed = new LinkedHashSet<>();
+                this.collect(this.service.take(), changed);
+                // 等待写入完成，并合并这段时间内的其他修改
+                Thread.sleep(DEBOUNCE);
+                WatchKey key;
+                while ((key = this.service.poll()) != null) this.collect(key, changed);
+                for (Path file : changed) {
+                    try {
+                        this.files.get(file).run();
+                    } catch (RuntimeException e) {
+                        RollingGate.LOGGER.error("Failed to reload {}", file, e);
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException ignored) {
+            // 监听器已关闭
+        }
+    }
+
+    private void collect(@NotNull WatchKey key, @NotNull Set<Path> changed) {
+        Path directory = this.directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (directory == null || !(event.context() instanceof Path name)) continue;
+            Path file = directory.resolve(name);
+            if (this.files.containsKey(file)) changed.add(file);
+        }
+        key.reset();
+    }
+
+    /**
+     * 停止监听
+     */
+    @Override
+    public void close() {
+        try {
+            this.service.close();
+        } catch (IOException e) {
+            RollingGate.LOGGER.error("Failed to close config watcher", e);
+        }
+    }
+}
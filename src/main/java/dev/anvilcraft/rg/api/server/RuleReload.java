@@ -0,0 +1,97 @@
+package dev.anvilcraft.rg.api.server;
+
+import dev.anvilcraft.rg.api.RGRule;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 计算配置文件热重载时需要应用的规则值
+ * <p>
+ * 规则的值依次由世界配置文件、全局配置文件与默认值决定。重载时只应用与上次读取的内容相比发生变化的规则，
+ * 其他规则（包括通过命令临时修改的值）保持不变
+ */
+final class RuleReload {
+    private RuleReload() {
+    }
+
+    /**
+     * 全局配置文件重载时需要应用的值
+     *
+     * @param previous  上次读取的全局配置
+     * @param global    本次读取的全局配置
+     * @param worldFile 世界配置文件的内容，其中的规则保持世界的值，即使与旧的全局值相同
+     * @return 需要应用的规则值，删除的规则恢复默认值
+     */
+    static @NotNull Map<RGRule<?>, Object> global(
+        @NotNull Map<RGRule<?>, Object> previous, @NotNull Map<RGRule<?>, Object> global, @NotNull Map<RGRule<?>, Object> worldFile
+    ) {
+        Map<RGRule<?>, Object> values = new LinkedHashMap<>();
+        for (RGRule<?> rule : RuleReload.changedRules(previous, global)) {
+            if (worldFile.containsKey(rule)) continue;
+            values.put(rule, global.containsKey(rule) ? global.get(rule) : rule.defaultValue());
+        }
+        return values;
+    }
+
+    /**
+     * 世界配置文件重载时需要应用的值
+     *
+     * @param previous 上次读取或写入的世界配置
+     * @param world    本次读取的世界配置
+     * @param global   当前的全局配置
+     * @return 需要应用的规则值，删除的规则恢复为全局配置或默认值
+     */
+    static @NotNull Map<RGRule<?>, Object> world(
+        @NotNull Map<RGRule<?>, Object> previous, @NotNull Map<RGRule<?>, Object> world, @NotNull Map<RGRule<?>, Object> global
+    ) {
+        Map<RGRule<?>, Object> values = new LinkedHashMap<>();
+        for (RGRule<?> rule : RuleReload.changedRules(previous, world)) {
+            if (world.containsKey(rule)) {
+                values.put(rule, world.get(rule));
+            } else {
+                values.put(rule, global.containsKey(rule) ? global.get(rule) : rule.defaultValue());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 世界配置中与全局配置不同的值，这些值在命令中显示为世界的默认值
+     *
+     * @param world  世界配置文件的内容
+     * @param global 当前的全局配置
+     * @return 与全局配置不同的世界配置值
+     */
+    static @NotNull Map<RGRule<?>, Object> worldOverrides(@NotNull Map<RGRule<?>, Object> world, @NotNull Map<RGRule<?>, Object> global) {
+        Map<RGRule<?>, Object> result = new LinkedHashMap<>();
+        for (Map.Entry<RGRule<?>, Object> entry : world.entrySet()) {
+            if (entry.getValue().equals(global.get(entry.getKey()))) continue;
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * 比较同一个配置文件前后两次读取的内容，找出新增、修改或删除的规则
+     *
+     * @param previous 上次读取的内容
+     * @param current  本次读取的内容
+     * @return 值发生变化的规则，按本次读取的顺序排列，删除的规则排在最后
+     */
+    static @NotNull Set<RGRule<?>> changedRules(@NotNull Map<RGRule<?>, Object> previous, @NotNull Map<RGRule<?>, Object> current) {
+        Set<RGRule<?>> changed = new LinkedHashSet<>();
+        for (Map.Entry<RGRule<?>, Object> entry : current.entrySet()) {
+            RGRule<?> rule = entry.getKey();
+            if (!previous.containsKey(rule) || !Objects.equals(previous.get(rule), entry.getValue())) changed.add(rule);
+        }
+        for (RGRule<?> rule : previous.keySet()) {
+            if (!current.containsKey(rule)) changed.add(rule);
+        }
+        return changed;
+    }
+}
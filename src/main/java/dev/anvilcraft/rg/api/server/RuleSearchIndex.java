@@ -0,0 +1,234 @@
+package dev.anvilcraft.rg.api.server;
+
+import dev.anvilcraft.rg.RollingGateServerRules;
+import dev.anvilcraft.rg.api.RGRule;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 规则搜索索引
+ * <p>
+ * 规则注册时，将规则的名称、序列化名称、翻译键与类别拆分为词元并写入前缀树，
+ * 翻译后的名称与描述按当前语言在第一次搜索时建立索引，语言或翻译变化后重新建立。
+ * 搜索与补全只需要沿前缀树查找，开销与规则总数无关
+ */
+public class RuleSearchIndex {
+    private static final Comparator<RGRule<?>> ORDER = Comparator.comparing(RGRule::name);
+    // 非ASCII词元写入索引的片段的最大长度
+    private static final int GRAM = 4;
+    // 规则名称与序列化名称，用于补全
+    private final Node names = new Node();
+    // 规则名称、序列化名称、翻译键与类别的词元
+    private final Node tokens = new Node();
+    private final Set<RGRule<?>> rules = new LinkedHashSet<>();
+    // 翻译后的名称与描述的词元，以及建立索引时使用的翻译表
+    private Node translated = null;
+    private Map<String, String> translatedTable = null;
+
+    /**
+     * 添加一个规则到索引中
+     *
+     * @param rule 规则
+     */
+    public void add(@NotNull RGRule<?> rule) {
+        if (!this.rules.add(rule)) return;
+        this.names.put(rule.name().toLowerCase(Locale.ROOT), rule);
+        this.names.put(rule.serialize(), rule);
+        for (String token : RuleSearchIndex.staticTokens(rule)) {
+            for (String key : RuleSearchIndex.keys(token)) this.tokens.put(key, rule);
+        }
+        this.translated = null;
+    }
+
+    /**
+     * 从索引中移除一个规则
+     *
+     * @param rule 规则
+     */
+    public void remove(@NotNull RGRule<?> rule) {
+        if (!this.rules.remove(rule)) return;
+        this.names.remove(rule.name().toLowerCase(Locale.ROOT), rule);
+        this.names.remove(rule.serialize(), rule);
+        for (String token : RuleSearchIndex.staticTokens(rule)) {
+            for (String key : RuleSearchIndex.keys(token)) this.tokens.remove(key, rule);
+        }
+        this.translated = null;
+    }
+
+    /**
+     * 按名称或序列化名称的前缀补全规则
+     *
+     * @param prefix 前缀，不区分大小写
+     * @param limit  最多返回的规则数量
+     * @return 按名称字典序排列的规则
+     */
+    public @NotNull List<RGRule<?>> complete(@NotNull String prefix, int limit) {
+        Set<RGRule<?>> result = new LinkedHashSet<>();
+        Node node = this.names.find(prefix.toLowerCase(Locale.ROOT));
+        if (node != null) node.collect(result, limit);
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * 搜索规则，文本中的每个词都需要匹配规则的某个词元的前缀，
+     * 较长的非ASCII词会拆分为相互重叠的片段，每个片段都需要匹配
+     *
+     * @param text 搜索文本
+     * @return 按名称排序的规则
+     */
+    public @NotNull List<RGRule<?>> search(@NotNull String text) {
+        List<String> query = RuleSearchIndex.tokenize(text);
+        if (query.isEmpty()) return List.of();
+        Node translated = this.translated();
+        Set<RGRule<?>> result = null;
+        for (String token : query.stream().flatMap(word -> RuleSearchIndex.grams(word).stream()).toList()) {
+            Set<RGRule<?>> matched = new HashSet<>();
+            for (Node root : new Node[]{this.names, this.tokens, translated}) {
+                Node node = root.find(token);
+                if (node != null) node.collect(matched, Integer.MAX_VALUE);
+            }
+            if (result == null) {
+                result = matched;
+            } else {
+                result.retainAll(matched);
+            }
+            if (result.isEmpty()) return List.of();
+        }
+        List<RGRule<?>> sorted = new ArrayList<>(result);
+        sorted.sort(ORDER);
+        return sorted;
+    }
+
+    private @NotNull Node translated() {
+        Map<String, String> table = TranslationUtil.getTable(RollingGateServerRules.language);
+        if (this.translated != null && this.translatedTable == table) return this.translated;
+        Node node = new Node();
+        for (RGRule<?> rule : this.rules) {
+            for (String key : new String[]{rule.getNameTranslationKey(), rule.getDescriptionTranslationKey()}) {
+                String text = table.get(key);
+                if (text == null) continue;
+                for (String token : RuleSearchIndex.tokenize(text)) {
+                    for (String gram : RuleSearchIndex.keys(token)) node.put(gram, rule);
+                }
+            }
+        }
+        this.translated = node;
+        this.translatedTable = table;
+        return node;
+    }
+
+    private static @NotNull Set<String> staticTokens(@NotNull RGRule<?> rule) {
+        Set<String> result = new LinkedHashSet<>();
+        result.addAll(RuleSearchIndex.tokenize(rule.name()));
+        result.addAll(RuleSearchIndex.tokenize(rule.serialize()));
+        result.addAll(RuleSearchIndex.tokenize(rule.getNameTranslationKey()));
+        result.add(rule.namespace());
+        for (String category : rule.categories()) result.addAll(RuleSearchIndex.tokenize(category));
+        return result;
+    }
+
+    /**
+     * 词元写入索引时使用的键，非ASCII的词元（如中文）没有分隔符，
+     * 因此同时写入从每个位置开始、长度不超过{@link #GRAM}的片段，以支持从中间开始匹配，写入的字符数与词元长度成正比
+     */
+    private static @NotNull Set<String> keys(@NotNull String token) {
+        if (RuleSearchIndex.isAscii(token)) return Set.of(token);
+        Set<String> result = new LinkedHashSet<>();
+        result.add(token);
+        for (int i = 1; i < token.length(); i++) result.add(token.substring(i, Math.min(i + GRAM, token.length())));
+        return result;
+    }
+
+    /**
+     * 搜索时使用的片段，长度超过{@link #GRAM}的非ASCII词拆分为相互重叠的片段，以便与{@link #keys(String)}写入的片段匹配
+     */
+    static @NotNull List<String> grams(@NotNull String token) {
+        if (token.length() <= GRAM || RuleSearchIndex.isAscii(token)) return List.of(token);
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i + GRAM <= token.length(); i++) result.add(token.substring(i, i + GRAM));
+        return result;
+    }
+
+    private static boolean isAscii(@NotNull String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (token.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 将文本拆分为小写的词元，按非字母数字字符与驼峰命名的边界拆分
+     *
+     * @param text 文本
+     * @return 词元列表
+     */
+    public static @NotNull List<String> tokenize(@NotNull String text) {
+        List<String> result = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        char previous = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                RuleSearchIndex.flush(current, result);
+            } else {
+                if (Character.isUpperCase(c) && Character.isLowerCase(previous)) RuleSearchIndex.flush(current, result);
+                current.append(Character.toLowerCase(c));
+            }
+            previous = c;
+        }
+        RuleSearchIndex.flush(current, result);
+        return result;
+    }
+
+    private static void flush(@NotNull StringBuilder current, @NotNull List<String> result) {
+        if (current.isEmpty()) return;
+        result.add(current.toString());
+        current.setLength(0);
+    }
+
+    /**
+     * 前缀树节点，子节点按字符排序，因此遍历结果按字典序排列
+     */
+    private static class Node {
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        // 以此节点结尾的词元所对应的规则
+        private final Set<RGRule<?>> rules = new LinkedHashSet<>();
+
+        private void put(@NotNull String key, @NotNull RGRule<?> rule) {
+            Node node = this;
+            for (int i = 0; i < key.length(); i++) node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            node.rules.add(rule);
+        }
+
+        private void remove(@NotNull String key, @NotNull RGRule<?> rule) {
+            Node node = this.find(key);
+            if (node != null) node.rules.remove(rule);
+        }
+
+        private Node find(@NotNull String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) node = node.children.get(prefix.charAt(i));
+            return node;
+        }
+
+        private void collect(@NotNull Set<RGRule<?>> result, int limit) {
+            for (RGRule<?> rule : this.rules) {
+                if (result.size() >= limit) return;
+                result.add(rule);
+            }
+            for (Node child : this.children.values()) {
+                if (result.size() >= limit) return;
+                child.collect(result, limit);
+            }
+        }
+    }
+}
@@ -1,39 +1,81 @@
 package dev.anvilcraft.rg.api.server;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.DynamicCommandExceptionType;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import com.mojang.brigadier.tree.LiteralCommandNode;
-import dev.anvilcraft.rg.api.ConfigUtil;
+import dev.anvilcraft.rg.RollingGate;
+import dev.anvilcraft.rg.RollingGateServerRules;
+import dev.anvilcraft.rg.api.ConfigWriter;
 import dev.anvilcraft.rg.api.RGEnvironment;
 import dev.anvilcraft.rg.api.RGRule;
 import dev.anvilcraft.rg.api.RGRuleException;
 import dev.anvilcraft.rg.api.RGRuleManager;
+import dev.anvilcraft.rg.api.RGRuleSnapshot;
+import dev.anvilcraft.rg.api.RuleOverrideHolder;
+import dev.anvilcraft.rg.mixin.ChunkMapAccessor;
+import dev.anvilcraft.rg.network.RuleSyncPayload;
+import dev.anvilcraft.rg.tools.FilesUtil;
+import dev.anvilcraft.rg.tools.chest.menu.RuleBrowserMenu;
+import dev.anvilcraft.rg.tools.serializer.DimTypeSerializer;
 import net.minecraft.ChatFormatting;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.commands.arguments.DimensionArgument;
+import net.minecraft.commands.arguments.EntityArgument;
+import net.minecraft.core.registries.Registries;
 import net.minecraft.network.chat.ClickEvent;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.HoverEvent;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.network.chat.Style;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.storage.LevelResource;
 import net.neoforged.fml.ModContainer;
 import net.neoforged.fml.ModList;
+import net.neoforged.neoforge.network.PacketDistributor;
+import net.neoforged.neoforge.server.ServerLifecycleHooks;
 import net.neoforged.neoforgespi.language.IModInfo;
 import org.apache.commons.lang3.function.TriFunction;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -41,10 +83,47 @@ import java.util.concurrent.CompletableFuture;
  * 用于管理服务器端的规则，包括规则的设置、重新初始化以及命令生成
  */
 public class ServerRGRuleManager extends RGRuleManager {
+    // 规则名称补全的最大数量
+    private static final int SUGGESTION_LIMIT = 100;
+    // 搜索结果每页显示的规则数量
+    private static final int SEARCH_PAGE_SIZE = 8;
+    // 维度配置文件中维度键的序列化器
+    private static final DimTypeSerializer DIMENSION_SERIALIZER = new DimTypeSerializer();
+    // 与规则名称参数位于同一层的子命令，Brigadier优先匹配字面量，同名的规则将无法通过命令设置
+    private static final Set<String> RESERVED_NAMES = Set.of("reload", "gui", "search", "category", "default", "dim", "player", "reset");
+    private static final DynamicCommandExceptionType RULE_NOT_EXIST = new DynamicCommandExceptionType(
+        name -> TranslationUtil.trans("rolling_gate.command.exception.not_exist", name)
+    );
     // 世界配置文件路径
     private final LevelResource worldConfigPath;
     // 用于存储世界特定规则配置的映射
     private final Map<RGRule<?>, Object> worldConfig = new HashMap<>();
+    // 世界配置文件最近一次读取或写入的内容，增量重载时与新内容比较
+    private final Map<RGRule<?>, Object> worldFile = new HashMap<>();
+    // 维度配置文件路径
+    private final LevelResource dimensionConfigPath;
+    // 维度到该维度覆盖的规则值
+    private final Map<ResourceKey<Level>, Map<RGRule<?>, Object>> dimensionConfig = new HashMap<>();
+    // 按世界读取规则值的规则，只有这些规则可以在维度中覆盖
+    private final Set<RGRule<?>> dimensionRules = new HashSet<>();
+    // 玩家的覆盖值文件，以玩家UUID为键
+    private final FilesUtil.MapFile<UUID, JsonObject> playerFile;
+    // 玩家UUID到该玩家覆盖的规则值
+    private final Map<UUID, Map<RGRule<?>, Object>> playerConfig = new HashMap<>();
+    // 按玩家读取规则值的规则，只有这些规则可以对玩家覆盖
+    private final Set<RGRule<?>> playerRules = new HashSet<>();
+    // 配置文件监听器，未开启热重载时为null
+    private ConfigWatcher watcher = null;
+    // 规则搜索索引
+    private final RuleSearchIndex searchIndex = new RuleSearchIndex();
+    // 需要同步到客户端的规则，按序列化名称排序，下标即为规则在同步数据包中的编号，为null时需要重新构建
+    private List<RGRule<?>> syncedRules = null;
+    // 最近一次同步到客户端的规则值，与syncedRules一一对应
+    private Object[] syncedValues = null;
+    // 最近一次检查同步时快照的代数
+    private long syncedGeneration = -1;
+    // 同步的规则集合已变化，客户端持有的编号失效，下次同步时需要向所有客户端发送完整同步
+    private boolean syncedRulesChanged = false;
 
     /**
      * 构造函数
@@ -55,6 +134,47 @@ public class ServerRGRuleManager extends RGRuleManager {
     public ServerRGRuleManager(String namespace) {
         super(namespace, RGEnvironment.SERVER);
         this.worldConfigPath = new LevelResource("%s.json".formatted(namespace));
+        this.dimensionConfigPath = new LevelResource("%s_dimensions.json".formatted(namespace));
+        this.playerFile = new FilesUtil.MapFile<>("%s_players".formatted(namespace), UUID::fromString, JsonObject.class);
+    }
+
+    /**
+     * 批量添加规则到管理器
+     *
+     * @param rules 要添加的规则
+     * @throws RGRuleException 如果规则的名称与{@code /rg}的子命令相同，则抛出此异常，此时不会添加任何规则
+     */
+    @Override
+    public void addRules(@NotNull Collection<RGRule<?>> rules) {
+        for (RGRule<?> rule : rules) {
+            if (RESERVED_NAMES.contains(rule.name())) {
+                throw new RGRuleException("Rule %s conflicts with the subcommand of the same name", rule.name());
+            }
+        }
+        for (RGRule<?> rule : rules) {
+            RGRule<?> previous = this.rules.get(rule.serialize());
+            if (previous != null) this.searchIndex.remove(previous);
+        }
+        super.addRules(rules);
+        for (RGRule<?> rule : rules) this.searchIndex.add(rule);
+        if (this.syncedRules == null) return;
+        List<RGRule<?>> synced = this.collectSyncedRules();
+        if (synced.stream().map(RGRule::serialize).toList().equals(this.syncedRules.stream().map(RGRule::serialize).toList())) {
+            // 编号不变，只替换规则实例，未同步的变化仍按syncedValues增量同步
+            this.syncedRules = List.copyOf(synced);
+        } else {
+            this.syncedRules = null;
+            this.syncedRulesChanged = true;
+        }
+    }
+
+    /**
+     * 获取规则搜索索引
+     *
+     * @return 规则搜索索引
+     */
+    public @NotNull RuleSearchIndex getSearchIndex() {
+        return this.searchIndex;
     }
 
     /**
@@ -67,24 +187,461 @@ public class ServerRGRuleManager extends RGRuleManager {
      * @param <T>    规则值的类型
      */
     public <T> void setWorldConfig(@NotNull MinecraftServer server, @NotNull RGRule<T> rule, T value) {
-        this.worldConfig.put(rule, value);
-        ConfigUtil.writeContent(server.getWorldPath(worldConfigPath), GSON.toJson(this.getSerializedConfig(this.worldConfig)));
+        this.setWorldConfigs(server, Map.<RGRule<?>, Object>of(rule, value));
+    }
+
+    /**
+     * 批量设置世界配置
+     * 将所有规则的值存储到世界配置中，并只写入一次配置文件
+     *
+     * @param server 服务器实例，用于访问世界路径
+     * @param values 规则到值的映射，值需要已经通过验证
+     */
+    public void setWorldConfigs(@NotNull MinecraftServer server, @NotNull Map<RGRule<?>, Object> values) {
+        this.worldFile.putAll(values);
+        this.updateWorldConfig(this.worldFile);
+        // 在服务器线程中复制配置，序列化与写入交给后台线程并与之后的修改合并
+        Map<RGRule<?>, Object> snapshot = new HashMap<>(this.worldFile);
+        ConfigWriter.submit(server.getWorldPath(worldConfigPath), () -> GSON.toJson(this.getSerializedConfig(snapshot)));
+    }
+
+    /**
+     * 服务器运行时将批量设置的值保存到世界配置中，与{@code /rg default}一致；没有服务器时保存到全局配置中
+     *
+     * @param values 已经生效的规则值
+     */
+    @Override
+    protected void saveRules(@NotNull Map<RGRule<?>, Object> values) {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) {
+            super.saveRules(values);
+            return;
+        }
+        this.setWorldConfigs(server, values);
     }
 
     /**
      * 重新初始化世界配置
      * 清空当前世界配置，并从配置文件中重新加载配置
+     * <p>
+     * 全局配置和世界配置会先全部验证，再合并成一个批次写入，只发布一个批量更改事件
      *
      * @param server 服务器实例，用于访问世界路径
      */
     public void reInit(@NotNull MinecraftServer server) {
-        super.reInit();
+        Map<RGRule<?>, Object> global = this.readRules(this.globalConfigPath);
+        Map<RGRule<?>, Object> world = this.readRules(server.getWorldPath(worldConfigPath));
+        Map<RGRule<?>, Object> values = new LinkedHashMap<>(global);
+        values.putAll(world);
+        this.applyRules(values);
+        this.globalConfig.clear();
+        this.globalConfig.putAll(global);
+        this.updateWorldConfig(world);
+        this.worldFile.clear();
+        this.worldFile.putAll(world);
+        this.loadDimensionConfig(server);
+        this.loadPlayerConfig(server);
+    }
+
+    /**
+     * 增量重载全局配置文件
+     * 只有与上次读取的内容相比新增、修改或删除的规则会被应用，其他规则（包括临时修改的值）保持不变；
+     * 世界配置文件中存在的规则保持不变，删除的规则恢复默认值
+     *
+     * @param server 服务器实例
+     */
+    public void reloadGlobalConfig(@NotNull MinecraftServer server) {
+        Map<RGRule<?>, Object> global = this.readRules(this.globalConfigPath);
+        this.applyRules(RuleReload.global(this.globalConfig, global, this.worldFile));
+        this.globalConfig.clear();
+        this.globalConfig.putAll(global);
+        // 与全局配置相同的世界值不会显示为世界默认值，全局配置变化后重新计算
+        this.updateWorldConfig(this.worldFile);
+    }
+
+    /**
+     * 增量重载世界配置文件
+     * 只有与上次读取或写入的内容相比新增、修改或删除的规则会被应用，其他规则（包括临时修改的值）保持不变；
+     * 删除的规则恢复为全局配置或默认值
+     *
+     * @param server 服务器实例，用于访问世界路径
+     */
+    public void reloadWorldConfig(@NotNull MinecraftServer server) {
+        Map<RGRule<?>, Object> world = this.readRules(server.getWorldPath(worldConfigPath));
+        this.applyRules(RuleReload.world(this.worldFile, world, this.globalConfig));
+        this.updateWorldConfig(world);
+        this.worldFile.clear();
+        this.worldFile.putAll(world);
+    }
+
+    private void updateWorldConfig(@NotNull Map<RGRule<?>, Object> world) {
+        Map<RGRule<?>, Object> overrides = RuleReload.worldOverrides(world, this.globalConfig);
         this.worldConfig.clear();
-        Map<RGRule<?>, Object> world = this.setSaveRules(ConfigUtil.getOrCreateContent(server.getWorldPath(worldConfigPath)));
-        for (Map.Entry<RGRule<?>, Object> entry : world.entrySet()) {
-            if (entry.getValue().equals(this.globalConfig.get(entry.getKey()))) continue;
-            this.worldConfig.put(entry.getKey(), entry.getValue());
+        this.worldConfig.putAll(overrides);
+    }
+
+    /**
+     * 从世界目录中读取维度覆盖配置，并应用到所有已加载的维度
+     * <p>
+     * 某个维度中存在非法值时忽略该维度的全部覆盖值
+     *
+     * @param server 服务器实例，用于访问世界路径
+     */
+    public void loadDimensionConfig(@NotNull MinecraftServer server) {
+        this.dimensionConfig.clear();
+        Path path = server.getWorldPath(dimensionConfigPath);
+        if (Files.isRegularFile(path)) {
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                JsonObject config = GSON.fromJson(reader, JsonObject.class);
+                if (config != null) {
+                    for (Map.Entry<String, JsonElement> entry : config.entrySet()) {
+                        ResourceKey<Level> dimension = DIMENSION_SERIALIZER.deserialize(new JsonPrimitive(entry.getKey()), null, null);
+                        try {
+                            Map<RGRule<?>, Object> overrides = new HashMap<>(this.readRules(entry.getValue().getAsJsonObject()));
+                            overrides.keySet().removeIf(rule -> {
+                                if (this.dimensionRules.contains(rule)) return false;
+                                RollingGate.LOGGER.warn("Ignored override of rule {} in dimension {}: rule is not read per dimension", rule.name(), entry.getKey());
+                                return true;
+                            });
+                            if (!overrides.isEmpty()) this.dimensionConfig.put(dimension, overrides);
+                        } catch (RGRuleException | IllegalStateException e) {
+                            RollingGate.LOGGER.warn("Ignored rule overrides of dimension {}: {}", entry.getKey(), e.getMessage());
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                RollingGate.LOGGER.error("Failed to read dimension rule config {}", path, e);
+            }
+        }
+        for (ServerLevel level : server.getAllLevels()) this.applyDimensionConfig(level);
+    }
+
+    /**
+     * 允许规则在维度中覆盖
+     * <p>
+     * 只有通过{@link RGRule#getValue(Level)}或{@link RGRule#getValue(Player)}读取值的规则才应允许维度覆盖，否则覆盖值不会产生任何效果
+     *
+     * @param rule 规则
+     */
+    public void allowDimensionOverride(@NotNull RGRule<?> rule) {
+        this.dimensionRules.add(rule);
+    }
+
+    /**
+     * 规则是否允许在维度中覆盖
+     *
+     * @param rule 规则
+     * @return 是否允许维度覆盖
+     */
+    public boolean isDimensionOverridable(@NotNull RGRule<?> rule) {
+        return this.dimensionRules.contains(rule);
+    }
+
+    /**
+     * 获取维度覆盖的规则值
+     *
+     * @param dimension 维度
+     * @return 规则到覆盖值的映射，不可修改
+     */
+    public @NotNull Map<RGRule<?>, Object> getDimensionConfig(@NotNull ResourceKey<Level> dimension) {
+        return Collections.unmodifiableMap(this.dimensionConfig.getOrDefault(dimension, Map.of()));
+    }
+
+    /**
+     * 设置规则在指定维度中的覆盖值，并更新维度配置文件
+     *
+     * @param server    服务器实例，用于访问世界路径
+     * @param dimension 维度
+     * @param rule      规则
+     * @param value     覆盖值，需要已经通过验证
+     * @param <T>       规则值的类型
+     * @throws RGRuleException 如果规则不允许在维度中覆盖，则抛出此异常
+     */
+    public <T> void setDimensionConfig(@NotNull MinecraftServer server, @NotNull ResourceKey<Level> dimension, @NotNull RGRule<T> rule, @NotNull T value) {
+        if (!this.dimensionRules.contains(rule)) {
+            throw new RGRuleException("Rule %s can't be overridden per dimension", rule.name());
+        }
+        this.dimensionConfig.computeIfAbsent(dimension, k -> new HashMap<>()).put(rule, value);
+        this.onDimensionConfigChanged(server, dimension);
+    }
+
+    /**
+     * 移除规则在指定维度中的覆盖值，并更新维度配置文件
+     *
+     * @param server    服务器实例，用于访问世界路径
+     * @param dimension 维度
+     * @param rule      规则
+     * @return 是否存在覆盖值
+     */
+    public boolean removeDimensionConfig(@NotNull MinecraftServer server, @NotNull ResourceKey<Level> dimension, @NotNull RGRule<?> rule) {
+        Map<RGRule<?>, Object> overrides = this.dimensionConfig.get(dimension);
+        if (overrides == null || overrides.remove(rule) == null) return false;
+        if (overrides.isEmpty()) this.dimensionConfig.remove(dimension);
+        this.onDimensionConfigChanged(server, dimension);
+        return true;
+    }
+
+    private void onDimensionConfigChanged(@NotNull MinecraftServer server, @NotNull ResourceKey<Level> dimension) {
+        ServerLevel level = server.getLevel(dimension);
+        if (level != null) this.applyDimensionConfig(level);
+        // 在服务器线程中复制配置，序列化与写入交给后台线程并与之后的修改合并
+        Map<String, Map<String, Object>> snapshot = new TreeMap<>();
+        for (Map.Entry<ResourceKey<Level>, Map<RGRule<?>, Object>> entry : this.dimensionConfig.entrySet()) {
+            String key = DIMENSION_SERIALIZER.serialize(entry.getKey(), null, null).getAsString();
+            snapshot.put(key, new TreeMap<>(this.getSerializedConfig(entry.getValue())));
+        }
+        ConfigWriter.submit(server.getWorldPath(dimensionConfigPath), () -> GSON.toJson(snapshot));
+    }
+
+    /**
+     * 将维度覆盖的规则值写入世界的覆盖值数组，之后通过{@link RGRule#getValue(Level)}读取时只需要一次数组访问
+     *
+     * @param level 世界
+     */
+    public void applyDimensionConfig(@NotNull ServerLevel level) {
+        ((RuleOverrideHolder) level).rolling_gate$setRuleOverrides(ServerRGRuleManager.toOverrides(this.dimensionConfig.get(level.dimension())));
+    }
+
+    /**
+     * 从世界目录中读取玩家覆盖配置，并应用到所有在线的玩家
+     * <p>
+     * 某个玩家的覆盖值中存在非法值时忽略该玩家的全部覆盖值
+     *
+     * @param server 服务器实例，用于访问世界路径
+     */
+    public void loadPlayerConfig(@NotNull MinecraftServer server) {
+        this.playerFile.init(server);
+        this.playerConfig.clear();
+        for (Map.Entry<UUID, JsonObject> entry : this.playerFile.map.entrySet()) {
+            try {
+                Map<RGRule<?>, Object> overrides = new HashMap<>(this.readRules(entry.getValue()));
+                overrides.keySet().removeIf(rule -> {
+                    if (this.playerRules.contains(rule)) return false;
+                    RollingGate.LOGGER.warn("Ignored override of rule {} for player {}: rule is not read per player", rule.name(), entry.getKey());
+                    return true;
+                });
+                if (!overrides.isEmpty()) this.playerConfig.put(entry.getKey(), overrides);
+            } catch (RGRuleException e) {
+                RollingGate.LOGGER.warn("Ignored rule overrides of player {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) this.applyPlayerConfig(player);
+    }
+
+    /**
+     * 允许规则对玩家覆盖
+     * <p>
+     * 只有通过{@link RGRule#getValue(Player)}读取值的规则才应允许玩家覆盖，否则覆盖值不会产生任何效果
+     *
+     * @param rule 规则
+     */
+    public void allowPlayerOverride(@NotNull RGRule<?> rule) {
+        this.playerRules.add(rule);
+    }
+
+    /**
+     * 规则是否允许对玩家覆盖
+     *
+     * @param rule 规则
+     * @return 是否允许玩家覆盖
+     */
+    public boolean isPlayerOverridable(@NotNull RGRule<?> rule) {
+        return this.playerRules.contains(rule);
+    }
+
+    /**
+     * 获取玩家覆盖的规则值
+     *
+     * @param player 玩家的UUID
+     * @return 规则到覆盖值的映射，不可修改
+     */
+    public @NotNull Map<RGRule<?>, Object> getPlayerConfig(@NotNull UUID player) {
+        return Collections.unmodifiableMap(this.playerConfig.getOrDefault(player, Map.of()));
+    }
+
+    /**
+     * 设置规则对指定玩家的覆盖值，并更新玩家配置文件
+     *
+     * @param server 服务器实例
+     * @param player 玩家的UUID
+     * @param rule   规则
+     * @param value  覆盖值，需要已经通过验证
+     * @param <T>    规则值的类型
+     * @throws RGRuleException 如果规则不允许对玩家覆盖，则抛出此异常
+     */
+    public <T> void setPlayerConfig(@NotNull MinecraftServer server, @NotNull UUID player, @NotNull RGRule<T> rule, @NotNull T value) {
+        if (!this.playerRules.contains(rule)) {
+            throw new RGRuleException("Rule %s can't be overridden per player", rule.name());
+        }
+        this.playerConfig.computeIfAbsent(player, k -> new HashMap<>()).put(rule, value);
+        this.onPlayerConfigChanged(server, player);
+    }
+
+    /**
+     * 移除规则对指定玩家的覆盖值，并更新玩家配置文件
+     *
+     * @param server 服务器实例
+     * @param player 玩家的UUID
+     * @param rule   规则
+     * @return 是否存在覆盖值
+     */
+    public boolean removePlayerConfig(@NotNull MinecraftServer server, @NotNull UUID player, @NotNull RGRule<?> rule) {
+        Map<RGRule<?>, Object> overrides = this.playerConfig.get(player);
+        if (overrides == null || overrides.remove(rule) == null) return false;
+        if (overrides.isEmpty()) this.playerConfig.remove(player);
+        this.onPlayerConfigChanged(server, player);
+        return true;
+    }
+
+    private void onPlayerConfigChanged(@NotNull MinecraftServer server, @NotNull UUID uuid) {
+        ServerPlayer player = server.getPlayerList().getPlayer(uuid);
+        if (player != null) this.applyPlayerConfig(player);
+        Map<RGRule<?>, Object> overrides = this.playerConfig.get(uuid);
+        if (overrides == null) {
+            this.playerFile.map.remove(uuid);
+        } else {
+            this.playerFile.map.put(uuid, GSON.toJsonTree(new TreeMap<>(this.getSerializedConfig(overrides))).getAsJsonObject());
+        }
+        // 只有覆盖值变化时才写入文件，在服务器线程中复制配置，序列化与写入交给后台线程并与之后的修改合并
+        Path path = this.playerFile.getPath();
+        if (path == null) return;
+        Map<UUID, JsonObject> snapshot = new TreeMap<>(this.playerFile.map);
+        ConfigWriter.submit(path, () -> GSON.toJson(snapshot));
+    }
+
+    /**
+     * 将玩家覆盖的规则值写入玩家的覆盖值数组，之后通过{@link RGRule#getValue(Player)}读取时只需要一次数组访问
+     * <p>
+     * 覆盖值可能改变玩家的视距，因此同时刷新玩家的区块追踪范围
+     *
+     * @param player 玩家
+     */
+    public void applyPlayerConfig(@NotNull ServerPlayer player) {
+        ((RuleOverrideHolder) player).rolling_gate$setRuleOverrides(ServerRGRuleManager.toOverrides(this.playerConfig.get(player.getUUID())));
+        if (player.connection != null) {
+            ((ChunkMapAccessor) player.serverLevel().getChunkSource().chunkMap).invokeUpdateChunkTracking(player);
+        }
+    }
+
+    /**
+     * 将规则到覆盖值的映射转换为以规则编号为下标的数组
+     */
+    private static Object @NotNull [] toOverrides(Map<RGRule<?>, Object> overrides) {
+        if (overrides == null || overrides.isEmpty()) return RuleOverrideHolder.EMPTY;
+        int size = 0;
+        for (RGRule<?> rule : overrides.keySet()) size = Math.max(size, rule.id() + 1);
+        Object[] slots = new Object[size];
+        for (Map.Entry<RGRule<?>, Object> entry : overrides.entrySet()) slots[entry.getKey().id()] = entry.getValue();
+        // 调用方替换整个数组，其他线程不会读到只写入了一部分的数组
+        return slots;
+    }
+
+    /**
+     * 开始监听全局与世界配置文件，外部修改会在服务器线程中增量应用
+     *
+     * @param server 服务器实例
+     */
+    public void startWatching(@NotNull MinecraftServer server) {
+        if (this.watcher != null) return;
+        Map<Path, Runnable> files = new HashMap<>();
+        files.put(this.globalConfigPath, () -> server.execute(() -> this.reloadSafely(server, false)));
+        files.put(server.getWorldPath(worldConfigPath), () -> server.execute(() -> this.reloadSafely(server, true)));
+        try {
+            this.watcher = new ConfigWatcher(files);
+        } catch (IOException e) {
+            RollingGate.LOGGER.error("Failed to watch rolling gate config files", e);
+        }
+    }
+
+    /**
+     * 停止监听配置文件
+     */
+    public void stopWatching() {
+        if (this.watcher == null) return;
+        this.watcher.close();
+        this.watcher = null;
+    }
+
+    private void reloadSafely(@NotNull MinecraftServer server, boolean world) {
+        // 由ConfigWriter自身写入引起的修改不需要重载
+        if (ConfigWriter.isLastWritten(world ? server.getWorldPath(worldConfigPath) : this.globalConfigPath)) return;
+        try {
+            if (world) {
+                this.reloadWorldConfig(server);
+            } else {
+                this.reloadGlobalConfig(server);
+            }
+        } catch (RGRuleException e) {
+            RollingGate.LOGGER.warn("Failed to reload rolling gate config: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 向玩家发送所有需要同步的规则的完整状态
+     * <p>
+     * 只有环境为{@link RGEnvironment#SYNCED}的规则会被同步，客户端未安装此模组时不会发送
+     *
+     * @param player 玩家
+     */
+    public void syncTo(@NotNull ServerPlayer player) {
+        if (!player.connection.hasChannel(RuleSyncPayload.TYPE)) return;
+        List<RGRule<?>> synced = this.getSyncedRules();
+        if (synced.isEmpty()) return;
+        List<RuleSyncPayload.Entry> entries = new ArrayList<>(synced.size());
+        for (int i = 0; i < synced.size(); i++) entries.add(RuleSyncPayload.Entry.of(i, synced.get(i), true));
+        PacketDistributor.sendToPlayer(player, new RuleSyncPayload(this.managerNamespace, true, entries));
+    }
+
+    /**
+     * 将上次调用以来发生变化的规则同步到所有客户端，应在每个服务器刻结束时调用
+     * <p>
+     * 规则未变化时只比较一次快照的代数；一刻内的多次修改合并为一个只包含变化规则的数据包。
+     * 同步的规则集合变化后规则编号随之变化，此时向所有客户端发送包含当前值的完整同步
+     *
+     * @param server 服务器实例
+     */
+    public void syncChanges(@NotNull MinecraftServer server) {
+        long generation = RGRuleSnapshot.current().generation();
+        if (this.syncedRulesChanged) {
+            this.syncedRulesChanged = false;
+            this.syncedGeneration = generation;
+            for (ServerPlayer player : server.getPlayerList().getPlayers()) this.syncTo(player);
+            return;
+        }
+        if (generation == this.syncedGeneration) return;
+        this.syncedGeneration = generation;
+        List<RGRule<?>> synced = this.getSyncedRules();
+        List<RuleSyncPayload.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < synced.size(); i++) {
+            Object value = synced.get(i).getValue();
+            if (Objects.equals(value, this.syncedValues[i])) continue;
+            this.syncedValues[i] = value;
+            entries.add(RuleSyncPayload.Entry.of(i, synced.get(i), false));
+        }
+        if (entries.isEmpty()) return;
+        RuleSyncPayload payload = new RuleSyncPayload(this.managerNamespace, false, entries);
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            if (player.connection.hasChannel(RuleSyncPayload.TYPE)) PacketDistributor.sendToPlayer(player, payload);
+        }
+    }
+
+    private @NotNull List<RGRule<?>> getSyncedRules() {
+        if (this.syncedRules != null) return this.syncedRules;
+        List<RGRule<?>> synced = this.collectSyncedRules();
+        Object[] values = new Object[synced.size()];
+        for (int i = 0; i < values.length; i++) values[i] = synced.get(i).getValue();
+        this.syncedRules = List.copyOf(synced);
+        this.syncedValues = values;
+        return this.syncedRules;
+    }
+
+    private @NotNull List<RGRule<?>> collectSyncedRules() {
+        List<RGRule<?>> synced = new ArrayList<>();
+        for (RGRule<?> rule : this.rules.values()) {
+            if (rule.environment().isSynced()) synced.add(rule);
         }
+        synced.sort(Comparator.comparing(RGRule::serialize));
+        return synced;
     }
 
     /**
@@ -118,6 +675,11 @@ public class ServerRGRuleManager extends RGRuleManager {
         @NotNull String literal;
         String redirect;
 
+        // 预渲染的规则组件，规则值、默认值或语言变化时才重新渲染
+        private final Map<RGRule<?>, RenderedRule> rendered = new HashMap<>();
+        // 预渲染的类别列表
+        private RenderedCategories renderedCategories = null;
+
         private Command(@NotNull CommandDispatcher<CommandSourceStack> dispatcher, @NotNull String literal, String redirect) {
             this.dispatcher = dispatcher;
             this.literal = literal;
@@ -125,6 +687,7 @@ public class ServerRGRuleManager extends RGRuleManager {
         }
 
         private void generateCommand() {
+            // 新增与规则名称参数同层的子命令时，需要同步更新RESERVED_NAMES
             LiteralArgumentBuilder<CommandSourceStack> root = Commands.literal(literal)
                 .requires(this::checkPermission)
                 .executes(this::listCommand)
@@ -132,6 +695,21 @@ public class ServerRGRuleManager extends RGRuleManager {
                     Commands.literal("reload")
                         .executes(this::reloadCommand)
                 )
+                .then(
+                    Commands.literal("gui")
+                        .executes(this::guiCommand)
+                )
+                .then(
+                    Commands.literal("search")
+                        .then(
+                            Commands.argument("text", StringArgumentType.string())
+                                .executes(context -> this.searchCommand(context, 1))
+                                .then(
+                                    Commands.argument("page", IntegerArgumentType.integer(1))
+                                        .executes(context -> this.searchCommand(context, IntegerArgumentType.getInteger(context, "page")))
+                                )
+                        )
+                )
                 .then(
                     Commands.literal("category")
                         .then(
@@ -141,9 +719,50 @@ public class ServerRGRuleManager extends RGRuleManager {
                         )
                 );
             LiteralArgumentBuilder<CommandSourceStack> aDefault = Commands.literal("default");
-            listCommand(aDefault, this::defaultRuleCommand, false);
-            listCommand(root, this::setRuleCommand, true);
+            ruleCommand(aDefault, this::defaultRuleCommand, false);
+            RequiredArgumentBuilder<CommandSourceStack, ResourceLocation> dimension = Commands.argument("dimension", DimensionArgument.dimension())
+                .executes(this::dimensionCommand)
+                .then(
+                    Commands.literal("reset")
+                        .then(
+                            Commands.argument("rule", StringArgumentType.word())
+                                .suggests(this::suggestRules)
+                                .executes(context -> this.resetDimensionCommand(context, this.getRule(context)))
+                        )
+                );
+            ruleCommand(dimension, this::dimensionRuleCommand, false);
+            ruleCommand(root, this::setRuleCommand, true);
             root.then(aDefault);
+            root.then(Commands.literal("dim").then(dimension));
+            root.then(
+                Commands.literal("player")
+                    .then(
+                        Commands.argument("player", EntityArgument.player())
+                            .executes(context -> this.playerCommand(context, EntityArgument.getPlayer(context, "player")))
+                            .then(
+                                Commands.literal("reset")
+                                    .then(
+                                        Commands.argument("rule", StringArgumentType.word())
+                                            .suggests(this::suggestPlayerRules)
+                                            .executes(context -> this.resetPlayerCommand(context, EntityArgument.getPlayer(context, "player"), this.getRule(context)))
+                                    )
+                            )
+                            .then(
+                                Commands.argument("rule", StringArgumentType.word())
+                                    .suggests(this::suggestPlayerRules)
+                                    .then(
+                                        Commands.argument("value", StringArgumentType.greedyString())
+                                            .suggests(this::suggestValues)
+                                            .executes(context -> this.playerRuleCommand(
+                                                context,
+                                                EntityArgument.getPlayer(context, "player"),
+                                                this.getRule(context),
+                                                StringArgumentType.getString(context, "value")
+                                            ))
+                                    )
+                            )
+                    )
+            );
             LiteralCommandNode<CommandSourceStack> register = dispatcher.register(root);
             if (redirect != null) dispatcher.register(
                 Commands.literal(redirect)
@@ -166,18 +785,46 @@ public class ServerRGRuleManager extends RGRuleManager {
             return SharedSuggestionProvider.suggest(categories, builder);
         }
 
-        private void listCommand(LiteralArgumentBuilder<CommandSourceStack> builder, TriFunction<CommandContext<CommandSourceStack>, RGRule<?>, String, Integer> execute, boolean list) {
-            for (Map.Entry<String, RGRule<?>> entry : rules.entrySet()) {
-                RGRule<?> rgRule = entry.getValue();
-                LiteralArgumentBuilder<CommandSourceStack> keyNode = Commands.literal(rgRule.name());
-                if (list) keyNode.executes(ctx -> this.ruleInfoCommand(ctx, rgRule));
-                keyNode.then(
-                    Commands.argument("value", StringArgumentType.greedyString())
-                        .suggests((context, builder1) -> SharedSuggestionProvider.suggest(rgRule.allowed(), builder1))
-                        .executes(context -> execute.apply(context, rgRule, StringArgumentType.getString(context, "value")))
-                );
-                builder.then(keyNode);
+        private @NotNull CompletableFuture<Suggestions> suggestRules(final CommandContext<CommandSourceStack> context, final SuggestionsBuilder builder) {
+            for (RGRule<?> rule : searchIndex.complete(builder.getRemaining(), SUGGESTION_LIMIT)) {
+                builder.suggest(rule.name());
             }
+            return builder.buildFuture();
+        }
+
+        /**
+         * 只补全允许对玩家覆盖的规则
+         */
+        private @NotNull CompletableFuture<Suggestions> suggestPlayerRules(final CommandContext<CommandSourceStack> context, final SuggestionsBuilder builder) {
+            return SharedSuggestionProvider.suggest(playerRules.stream().map(RGRule::name).sorted(), builder);
+        }
+
+        private @NotNull CompletableFuture<Suggestions> suggestValues(final CommandContext<CommandSourceStack> context, final SuggestionsBuilder builder) {
+            RGRule<?> rule = namedRules.get(StringArgumentType.getString(context, "rule"));
+            if (rule == null) return builder.buildFuture();
+            return SharedSuggestionProvider.suggest(rule.allowed(), builder);
+        }
+
+        private @NotNull RGRule<?> getRule(@NotNull CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+            String name = StringArgumentType.getString(context, "rule");
+            RGRule<?> rule = namedRules.get(name);
+            if (rule == null) throw RULE_NOT_EXIST.create(name);
+            return rule;
+        }
+
+        /**
+         * 注册规则子命令，所有规则共用一个规则名称参数，命令树的大小与规则数量无关
+         */
+        private void ruleCommand(ArgumentBuilder<CommandSourceStack, ?> builder, TriFunction<CommandContext<CommandSourceStack>, RGRule<?>, String, Integer> execute, boolean info) {
+            RequiredArgumentBuilder<CommandSourceStack, String> ruleNode = Commands.argument("rule", StringArgumentType.word())
+                .suggests(this::suggestRules);
+            if (info) ruleNode.executes(ctx -> this.ruleInfoCommand(ctx, this.getRule(ctx)));
+            ruleNode.then(
+                Commands.argument("value", StringArgumentType.greedyString())
+                    .suggests(this::suggestValues)
+                    .executes(context -> execute.apply(context, this.getRule(context), StringArgumentType.getString(context, "value")))
+            );
+            builder.then(ruleNode);
         }
 
         private int reloadCommand(@NotNull CommandContext<CommandSourceStack> context) {
@@ -186,25 +833,18 @@ public class ServerRGRuleManager extends RGRuleManager {
             return 1;
         }
 
+        private int guiCommand(@NotNull CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+            RuleBrowserMenu.open(context.getSource().getPlayerOrException(), ServerRGRuleManager.this);
+            return 1;
+        }
+
         private int listCommand(@NotNull CommandContext<CommandSourceStack> context) {
             Optional<? extends ModContainer> container = ModList.get().getModContainerById(managerNamespace);
             if (container.isPresent()) {
                 IModInfo info = container.get().getModInfo();
                 context.getSource().sendSuccess(() -> Component.literal(info.getDisplayName()).withStyle(ChatFormatting.DARK_PURPLE), false);
                 context.getSource().sendSuccess(() -> TranslationUtil.trans("rolling_gate.command.root.version", info.getVersion().toString()).withStyle(ChatFormatting.GRAY), false);
-                MutableComponent categoriesComponent = Component.empty();
-                for (String category : categories) {
-                    MutableComponent categoryComponent = Component.empty();
-                    categoryComponent.append("[");
-                    categoryComponent.append(TranslationUtil.trans(getDescriptionCategoryKey(category)));
-                    categoryComponent.append("] ");
-                    categoryComponent.withStyle(
-                        Style.EMPTY
-                            .applyFormat(ChatFormatting.AQUA)
-                            .withClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND, "/%s category %s".formatted(literal, category)))
-                    );
-                    categoriesComponent.append(categoryComponent);
-                }
+                Component categoriesComponent = this.renderCategories();
                 context.getSource().sendSuccess(() -> categoriesComponent, false);
                 return 1;
             }
@@ -214,33 +854,77 @@ public class ServerRGRuleManager extends RGRuleManager {
 
         private <T> int ruleInfoCommand(@NotNull CommandContext<CommandSourceStack> context, @NotNull RGRule<T> rule) {
             CommandSourceStack source = context.getSource();
-            source.sendSuccess(() -> TranslationUtil.trans(rule.getNameTranslationKey()), false);
-            source.sendSuccess(() -> TranslationUtil.trans(rule.getDescriptionTranslationKey()), false);
-            source.sendSuccess(() -> this.getValues(rule), false);
+            RenderedRule rendered = this.render(rule);
+            source.sendSuccess(rendered::name, false);
+            source.sendSuccess(rendered::description, false);
+            source.sendSuccess(rendered::values, false);
             return 1;
         }
 
+        private @NotNull Component renderCategories() {
+            String language = RollingGateServerRules.language;
+            RenderedCategories cached = this.renderedCategories;
+            if (cached != null && cached.language().equals(language) && cached.size() == categories.size()) {
+                return cached.component();
+            }
+            MutableComponent categoriesComponent = Component.empty();
+            for (String category : categories) {
+                MutableComponent categoryComponent = Component.empty();
+                categoryComponent.append("[");
+                categoryComponent.append(TranslationUtil.trans(getDescriptionCategoryKey(category)));
+                categoryComponent.append("] ");
+                categoryComponent.withStyle(
+                    Style.EMPTY
+                        .applyFormat(ChatFormatting.AQUA)
+                        .withClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND, "/%s category %s".formatted(literal, category)))
+                );
+                categoriesComponent.append(categoryComponent);
+            }
+            this.renderedCategories = new RenderedCategories(language, categories.size(), categoriesComponent);
+            return categoriesComponent;
+        }
+
+        private @NotNull RenderedRule render(@NotNull RGRule<?> rule) {
+            Object value = rule.getValue();
+            Object worldDefault = worldConfig.get(rule);
+            Object globalDefault = globalConfig.get(rule);
+            String language = RollingGateServerRules.language;
+            RenderedRule cached = this.rendered.get(rule);
+            if (cached != null && cached.isValid(value, worldDefault, globalDefault, language)) return cached;
+            MutableComponent name = TranslationUtil.trans(rule.getNameTranslationKey());
+            MutableComponent description = TranslationUtil.trans(rule.getDescriptionTranslationKey());
+            MutableComponent values = this.getValues(rule);
+            MutableComponent line = Component.literal("- ");
+            line.append(TranslationUtil.trans(rule.getNameTranslationKey())
+                .withStyle(Style.EMPTY.withHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, description))));
+            line.append(" ").append(values);
+            cached = new RenderedRule(value, worldDefault, globalDefault, language, name, description, values, line);
+            this.rendered.put(rule, cached);
+            return cached;
+        }
+
         private <T> @NotNull MutableComponent getValues(@NotNull RGRule<T> rule) {
             MutableComponent result = Component.empty();
             String string1 = rule.getValue().toString();
             boolean flag = false;
+            Object worldDefault = worldConfig.get(rule);
+            Object globalDefault = globalConfig.get(rule);
+            String defaultString;
+            if (worldDefault != null) {
+                //noinspection unchecked
+                defaultString = rule.codec().encode((T) worldDefault);
+            } else if (globalDefault != null) {
+                //noinspection unchecked
+                defaultString = rule.codec().encode((T) globalDefault);
+            } else {
+                defaultString = rule.codec().encode(rule.defaultValue());
+            }
+            String selectString = rule.codec().encode(rule.getValue());
             for (String string : rule.allowed()) {
                 if (string.equals(string1)) flag = true;
                 if (!string.equals(rule.allowed()[0])) result.append(" ");
-                Object worldDefault = worldConfig.get(rule);
-                Object globalDefault = globalConfig.get(rule);
-                T ruleDefault = rule.defaultValue();
-                boolean isGlobalDefault;
-                if (worldDefault != null) {
-                    //noinspection unchecked
-                    isGlobalDefault = string.equals(rule.codec().encode((T) worldDefault));
-                } else if (globalDefault != null) {
-                    //noinspection unchecked
-                    isGlobalDefault = string.equals(rule.codec().encode((T) globalDefault));
-                } else {
-                    isGlobalDefault = string.equals(rule.codec().encode(ruleDefault));
-                }
-                boolean isSelect = string.equals(rule.codec().encode(rule.getValue()));
+                boolean isGlobalDefault = string.equals(defaultString);
+                boolean isSelect = string.equals(selectString);
                 MutableComponent component = Component.literal("[%s]".formatted(string));
                 Style style = Style.EMPTY;
                 if (isSelect) {
@@ -265,20 +949,44 @@ public class ServerRGRuleManager extends RGRuleManager {
             return result;
         }
 
+        private int searchCommand(@NotNull CommandContext<CommandSourceStack> context, int page) {
+            String text = StringArgumentType.getString(context, "text");
+            List<RGRule<?>> result = searchIndex.search(text);
+            if (result.isEmpty()) {
+                context.getSource().sendFailure(TranslationUtil.trans("rolling_gate.command.search.empty", text).withStyle(ChatFormatting.RED));
+                return 0;
+            }
+            int pages = (result.size() + SEARCH_PAGE_SIZE - 1) / SEARCH_PAGE_SIZE;
+            int current = Math.min(page, pages);
+            MutableComponent header = TranslationUtil.trans("rolling_gate.command.search.header", text, current, pages)
+                .withStyle(ChatFormatting.GRAY);
+            if (current > 1) header.append(" ").append(this.pageButton("<", text, current - 1));
+            if (current < pages) header.append(" ").append(this.pageButton(">", text, current + 1));
+            context.getSource().sendSuccess(() -> header, false);
+            int end = Math.min(result.size(), current * SEARCH_PAGE_SIZE);
+            for (RGRule<?> rule : result.subList((current - 1) * SEARCH_PAGE_SIZE, end)) {
+                RenderedRule rendered = this.render(rule);
+                context.getSource().sendSuccess(rendered::line, false);
+            }
+            return result.size();
+        }
+
+        private @NotNull MutableComponent pageButton(String label, @NotNull String text, int page) {
+            String quoted = StringArgumentType.escapeIfRequired(text);
+            return Component.literal("[%s]".formatted(label)).withStyle(
+                Style.EMPTY
+                    .applyFormat(ChatFormatting.AQUA)
+                    .withClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND, "/%s search %s %d".formatted(literal, quoted, page)))
+            );
+        }
+
         private int categoryCommand(@NotNull CommandContext<CommandSourceStack> context) {
             String category = StringArgumentType.getString(context, "category");
             MutableComponent categoryComponent = TranslationUtil.trans(getDescriptionCategoryKey(category)).append(":");
             context.getSource().sendSuccess(() -> categoryComponent, false);
-            for (RGRule<?> rule : rules.values()) {
-                if (Arrays.stream(rule.categories()).noneMatch(s -> s.equals(category))) continue;
-                MutableComponent component = Component.literal("- ");
-                MutableComponent name = TranslationUtil.trans(rule.getNameTranslationKey());
-                component.append(name);
-                MutableComponent hover = TranslationUtil.trans(rule.getDescriptionTranslationKey());
-                name.withStyle(Style.EMPTY.withHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, hover)));
-                MutableComponent values = this.getValues(rule);
-                component.append(" ").append(values);
-                context.getSource().sendSuccess(() -> component, false);
+            for (RGRule<?> rule : getRulesInCategory(category)) {
+                RenderedRule rendered = this.render(rule);
+                context.getSource().sendSuccess(rendered::line, false);
             }
             return 1;
         }
@@ -308,7 +1016,7 @@ public class ServerRGRuleManager extends RGRuleManager {
 
         private <T> int defaultRuleCommand(@NotNull CommandContext<CommandSourceStack> context, @NotNull RGRule<T> rule, String value) {
             try {
-                setWorldConfig(context.getSource().getServer(), rule, rule.codec().decode(value));
+                setWorldConfig(context.getSource().getServer(), rule, rule.parseValue(value));
                 MutableComponent result = TranslationUtil
                     .trans("rolling_gate.command.rule.set.default", rule.name(), value)
                     .withStyle(ChatFormatting.GRAY);
@@ -319,5 +1027,113 @@ public class ServerRGRuleManager extends RGRuleManager {
                 return 0;
             }
         }
+
+        private @NotNull ResourceKey<Level> getDimension(@NotNull CommandContext<CommandSourceStack> context) {
+            // 不要求维度已经加载，未加载的维度会在加载时应用覆盖值
+            return ResourceKey.create(Registries.DIMENSION, context.getArgument("dimension", ResourceLocation.class));
+        }
+
+        private int dimensionCommand(@NotNull CommandContext<CommandSourceStack> context) {
+            ResourceKey<Level> dimension = this.getDimension(context);
+            return this.overridesCommand(context, "dim", dimension.location().toString(), getDimensionConfig(dimension));
+        }
+
+        private int overridesCommand(@NotNull CommandContext<CommandSourceStack> context, String type, String name, @NotNull Map<RGRule<?>, Object> overrides) {
+            if (overrides.isEmpty()) {
+                context.getSource().sendFailure(TranslationUtil.trans("rolling_gate.command.%s.empty".formatted(type), name).withStyle(ChatFormatting.RED));
+                return 0;
+            }
+            context.getSource().sendSuccess(() -> TranslationUtil.trans("rolling_gate.command.%s.header".formatted(type), name).withStyle(ChatFormatting.GRAY), false);
+            List<RGRule<?>> rules = new ArrayList<>(overrides.keySet());
+            rules.sort(Comparator.comparing(RGRule::name));
+            for (RGRule<?> rule : rules) {
+                MutableComponent line = Component.literal("- ")
+                    .append(TranslationUtil.trans(rule.getNameTranslationKey()))
+                    .append(" ")
+                    .append(Component.literal("[%s]".formatted(this.encode(rule, overrides.get(rule)))).withStyle(ChatFormatting.GREEN));
+                context.getSource().sendSuccess(() -> line, false);
+            }
+            return overrides.size();
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> @NotNull String encode(@NotNull RGRule<T> rule, Object value) {
+            return rule.codec().encode((T) value);
+        }
+
+        private <T> int dimensionRuleCommand(@NotNull CommandContext<CommandSourceStack> context, @NotNull RGRule<T> rule, String value) {
+            ResourceKey<Level> dimension = this.getDimension(context);
+            try {
+                setDimensionConfig(context.getSource().getServer(), dimension, rule, rule.parseValue(value));
+                MutableComponent result = TranslationUtil
+                    .trans("rolling_gate.command.dim.set", rule.name(), dimension.location().toString(), value)
+                    .withStyle(ChatFormatting.GRAY);
+                context.getSource().sendSuccess(() -> result, false);
+                return 1;
+            } catch (RGRuleException exception) {
+                context.getSource().sendFailure(Component.literal(exception.getMessage()).withStyle(ChatFormatting.RED));
+                return 0;
+            }
+        }
+
+        private int resetDimensionCommand(@NotNull CommandContext<CommandSourceStack> context, @NotNull RGRule<?> rule) {
+            ResourceKey<Level> dimension = this.getDimension(context);
+            String name = dimension.location().toString();
+            if (!removeDimensionConfig(context.getSource().getServer(), dimension, rule)) {
+                context.getSource().sendFailure(TranslationUtil.trans("rolling_gate.command.dim.not_overridden", rule.name(), name).withStyle(ChatFormatting.RED));
+                return 0;
+            }
+            context.getSource().sendSuccess(() -> TranslationUtil.trans("rolling_gate.command.dim.reset", rule.name(), name).withStyle(ChatFormatting.GRAY), false);
+            return 1;
+        }
+
+        private int playerCommand(@NotNull CommandContext<CommandSourceStack> context, @NotNull ServerPlayer player) {
+            return this.overridesCommand(context, "player", player.getGameProfile().getName(), getPlayerConfig(player.getUUID()));
+        }
+
+        private <T> int playerRuleCommand(@NotNull CommandContext<CommandSourceStack> context, @NotNull ServerPlayer player, @NotNull RGRule<T> rule, String value) {
+            try {
+                setPlayerConfig(context.getSource().getServer(), player.getUUID(), rule, rule.parseValue(value));
+                MutableComponent result = TranslationUtil
+                    .trans("rolling_gate.command.player.set", rule.name(), player.getGameProfile().getName(), value)
+                    .withStyle(ChatFormatting.GRAY);
+                context.getSource().sendSuccess(() -> result, false);
+                return 1;
+            } catch (RGRuleException exception) {
+                context.getSource().sendFailure(Component.literal(exception.getMessage()).withStyle(ChatFormatting.RED));
+                return 0;
+            }
+        }
+
+        private int resetPlayerCommand(@NotNull CommandContext<CommandSourceStack> context, @NotNull ServerPlayer player, @NotNull RGRule<?> rule) {
+            String name = player.getGameProfile().getName();
+            if (!removePlayerConfig(context.getSource().getServer(), player.getUUID(), rule)) {
+                context.getSource().sendFailure(TranslationUtil.trans("rolling_gate.command.player.not_overridden", rule.name(), name).withStyle(ChatFormatting.RED));
+                return 0;
+            }
+            context.getSource().sendSuccess(() -> TranslationUtil.trans("rolling_gate.command.player.reset", rule.name(), name).withStyle(ChatFormatting.GRAY), false);
+            return 1;
+        }
+
+        /**
+         * 预渲染的规则组件，以及渲染时的规则值、默认值与语言
+         */
+        private record RenderedRule(
+            Object value, Object worldDefault, Object globalDefault, String language,
+            Component name, Component description, Component values, Component line
+        ) {
+            private boolean isValid(Object value, Object worldDefault, Object globalDefault, String language) {
+                return Objects.equals(this.value, value)
+                    && Objects.equals(this.worldDefault, worldDefault)
+                    && Objects.equals(this.globalDefault, globalDefault)
+                    && this.language.equals(language);
+            }
+        }
+
+        /**
+         * 预渲染的类别列表，以及渲染时的语言与类别数量
+         */
+        private record RenderedCategories(String language, int size, Component component) {
+        }
     }
 }
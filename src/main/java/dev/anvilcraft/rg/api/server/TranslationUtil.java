@@ -10,11 +10,19 @@ import org.jetbrains.annotations.NotNull;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * 翻译实用程序类，用于处理语言翻译相关功能
+ * <p>
+ * 各命名空间在加载时通过{@link #registerLanguages(Class, String)}登记语言文件的来源，
+ * 某个语言只会在第一次被{@link RollingGateServerRules#language}选中时读取。
+ * 读取的翻译会构建为不可变的翻译表并合并回退语言，查询时只需要一次哈希查找且不会分配内存，可以在任意线程中调用。
+ * 内存中只保留当前语言与回退语言的翻译表，切换语言后旧的翻译表会被释放
  */
 public class TranslationUtil {
     /**
@@ -22,9 +30,19 @@ public class TranslationUtil {
      */
     public static final Gson GSON = new Gson();
     /**
-     * 存储所有语言及其相应的翻译
+     * 回退语言，其他语言中缺失的键使用此语言的翻译
      */
-    public static final Map<String, Map<String, String>> LANGUAGES = new HashMap<>();
+    public static final String FALLBACK = "en_us";
+    // 登记的语言文件来源
+    private static final List<Source> NAMESPACES = new ArrayList<>();
+    // 通过代码直接添加的翻译
+    private static final Map<String, Map<String, String>> SOURCES = new HashMap<>();
+    // 保护来源与翻译表构建的锁
+    private static final Object LOCK = new Object();
+    // 回退语言的翻译表，为null时需要重新读取
+    private static Map<String, String> fallback = null;
+    // 当前语言及其翻译表的缓存
+    private static volatile Current current = null;
 
     /**
      * 将密钥转换为相应的文本，并可选择格式替换
@@ -34,17 +52,94 @@ public class TranslationUtil {
      * @return 翻译和格式化的文本
      */
     public static @NotNull MutableComponent trans(String key, Object... args) {
-        return Component.translatableWithFallback(
-            key,
-            LANGUAGES.getOrDefault(
-                RollingGateServerRules.language,
-                LANGUAGES.getOrDefault(
-                    "en_us",
-                    new HashMap<>()
-                )
-            ).getOrDefault(key, key),
-            args
-        );
+        return Component.translatableWithFallback(key, TranslationUtil.currentTable().getOrDefault(key, key), args);
+    }
+
+    /**
+     * 获取指定语言的翻译表，已合并回退语言
+     * <p>
+     * 非当前语言的翻译表不会被缓存；当前语言的翻译表在来源变化前总是同一个实例，可以按引用判断翻译是否变化
+     *
+     * @param language 语言代码
+     * @return 不可变的翻译表，缺失的键使用回退语言
+     */
+    public static @NotNull Map<String, String> getTable(String language) {
+        if (RollingGateServerRules.language.equals(language)) return TranslationUtil.currentTable();
+        Current current = TranslationUtil.current;
+        if (current != null && current.language().equals(language)) return current.table();
+        synchronized (LOCK) {
+            return TranslationUtil.build(language);
+        }
+    }
+
+    private static @NotNull Map<String, String> currentTable() {
+        String language = RollingGateServerRules.language;
+        Current current = TranslationUtil.current;
+        if (current != null && current.language().equals(language)) return current.table();
+        synchronized (LOCK) {
+            current = TranslationUtil.current;
+            if (current != null && current.language().equals(language)) return current.table();
+            // 替换缓存后，之前语言的翻译表不再被引用
+            Map<String, String> table = TranslationUtil.build(language);
+            TranslationUtil.current = new Current(language, table);
+            return table;
+        }
+    }
+
+    private static @NotNull Map<String, String> build(String language) {
+        if (fallback == null) fallback = Map.copyOf(TranslationUtil.read(FALLBACK));
+        if (FALLBACK.equals(language)) return fallback;
+        Map<String, String> table = new HashMap<>(fallback);
+        table.putAll(TranslationUtil.read(language));
+        return Map.copyOf(table);
+    }
+
+    private static @NotNull Map<String, String> read(String language) {
+        Map<String, String> result = new HashMap<>();
+        for (Source source : NAMESPACES) {
+            TranslationUtil.readFile(source.clazz(), source.namespace(), language, result);
+        }
+        result.putAll(SOURCES.getOrDefault(language, Map.of()));
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean readFile(@NotNull Class<?> clazz, String namespace, String language, Map<String, String> result) {
+        try (
+            InputStream stream = clazz.getResourceAsStream("/assets/%s/lang/%s.json".formatted(namespace, language))
+        ) {
+            if (stream == null) return false;
+            try (InputStreamReader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+                Map<String, String> translations = TranslationUtil.GSON.fromJson(reader, Map.class);
+                if (translations == null) return true;
+                for (Map.Entry<String, String> entry : translations.entrySet()) {
+                    if (entry.getKey() == null || entry.getValue() == null) continue;
+                    result.put(entry.getKey(), entry.getValue());
+                }
+                return true;
+            }
+        } catch (IOException e) {
+            RollingGate.LOGGER.error("Failed to load %s language file.".formatted(language), e);
+            return false;
+        }
+    }
+
+    private static void invalidate() {
+        fallback = null;
+        current = null;
+    }
+
+    /**
+     * 登记指定命名空间的语言文件来源，语言文件会在第一次使用时读取
+     *
+     * @param clazz     用于加载资源的类
+     * @param namespace 资源命名空间
+     */
+    public static void registerLanguages(Class<?> clazz, String namespace) {
+        synchronized (LOCK) {
+            NAMESPACES.add(new Source(clazz, namespace));
+            TranslationUtil.invalidate();
+        }
     }
 
     /**
@@ -54,33 +149,44 @@ public class TranslationUtil {
      * @param translations 包含翻译的Map
      */
     public static void addLanguage(String language, Map<String, String> translations) {
-        Map<String, String> languages = LANGUAGES.getOrDefault(language, new HashMap<>());
-        languages.putAll(translations);
-        LANGUAGES.putIfAbsent(language, languages);
+        synchronized (LOCK) {
+            Map<String, String> source = SOURCES.computeIfAbsent(language, k -> new HashMap<>());
+            for (Map.Entry<String, String> entry : translations.entrySet()) {
+                if (entry.getKey() == null || entry.getValue() == null) continue;
+                source.put(entry.getKey(), entry.getValue());
+            }
+            TranslationUtil.invalidate();
+        }
     }
 
     /**
-     * 从指定的命名空间和语言代码加载语言文件
+     * 立即从指定的命名空间和语言代码加载语言文件，加载的翻译会一直保留在内存中
+     * <p>
+     * 通常应使用{@link #registerLanguages(Class, String)}按需加载
      *
      * @param clazz     用于加载资源的类
      * @param namespace 资源命名空间
      * @param language  语言代码
      */
-    @SuppressWarnings("unchecked")
     public static void loadLanguage(Class<?> clazz, String namespace, String language) {
-        try (
-            InputStream stream = clazz.getResourceAsStream("/assets/%s/lang/%s.json".formatted(namespace, language))
-        ) {
-            if (stream == null) {
-                RollingGate.LOGGER.error("Can't find language {}/{}.", namespace, language);
-                return;
-            }
-            try (InputStreamReader reader = new InputStreamReader(stream)) {
-                TranslationUtil.addLanguage("zh_cn", (Map<String, String>) TranslationUtil.GSON.fromJson(reader, Map.class));
-                RollingGate.LOGGER.info("Loaded {} language file.", language);
-            }
-        } catch (IOException e) {
-            RollingGate.LOGGER.error("Failed to load %s language file.".formatted(language), e);
+        Map<String, String> translations = new HashMap<>();
+        if (!TranslationUtil.readFile(clazz, namespace, language, translations)) {
+            RollingGate.LOGGER.error("Can't find language {}/{}.", namespace, language);
+            return;
         }
+        TranslationUtil.addLanguage(language, translations);
+        RollingGate.LOGGER.info("Loaded {} language file.", language);
+    }
+
+    /**
+     * 语言文件来源
+     */
+    private record Source(Class<?> clazz, String namespace) {
+    }
+
+    /**
+     * 当前语言及其翻译表
+     */
+    private record Current(String language, Map<String, String> table) {
     }
 }
@@ -8,6 +8,7 @@ import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.ModList;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.fml.event.lifecycle.FMLLoadCompleteEvent;
+import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
 
 import java.util.Optional;
 
@@ -24,4 +25,12 @@ public class RollingGateClient {
         });
         RollingGateClient.CLIENT_RULE_MANAGER.reInit();
     }
+
+    @EventBusSubscriber(value = Dist.CLIENT, modid = RollingGate.MODID)
+    public static class GameEvents {
+        @SubscribeEvent
+        public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+            ClientRGRuleManager.clearServerValues();
+        }
+    }
 }
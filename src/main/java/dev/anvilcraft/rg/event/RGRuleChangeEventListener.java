@@ -1,21 +1,41 @@
 package dev.anvilcraft.rg.event;
 
-import dev.anvilcraft.rg.RollingGate;
 import dev.anvilcraft.rg.api.event.RGRuleChangeEvent;
+import dev.anvilcraft.rg.api.server.ServerRGRuleManager;
 import dev.anvilcraft.rg.mixin.DedicatedServerAccessor;
 import net.minecraft.server.MinecraftServer;
-import net.neoforged.bus.api.SubscribeEvent;
-import net.neoforged.fml.common.EventBusSubscriber;
 import org.jetbrains.annotations.NotNull;
 
-@EventBusSubscriber(modid = RollingGate.MODID)
 public class RGRuleChangeEventListener {
-    @SubscribeEvent
-    public static void onRuleChange(@NotNull RGRuleChangeEvent.Server<Integer> event) {
-        if (event.getRule().name().equals("viewDistance")) {
-            changeViewDistance(event.getServer(), event.getNewValue());
-        } else if (event.getRule().name().equals("simulationDistance")) {
-            changeSimulationDistance(event.getServer(), event.getNewValue());
+    public static void register(@NotNull ServerRGRuleManager manager) {
+        manager.getRule("view_distance", Integer.class).addListener(RGRuleChangeEventListener::onViewDistanceChange);
+        // 维度的视距覆盖值由ChunkMapMixin按玩家所在的世界读取
+        manager.allowDimensionOverride(manager.getRule("view_distance", Integer.class));
+        // 玩家的视距覆盖值由ChunkMapMixin读取，欢迎消息在玩家登录时按玩家读取
+        manager.allowPlayerOverride(manager.getRule("view_distance", Integer.class));
+        manager.allowPlayerOverride(manager.getRule("welcome_player", Boolean.class));
+        manager.getRule("simulation_distance", Integer.class).addListener(RGRuleChangeEventListener::onSimulationDistanceChange);
+        manager.getRule("hot_reload", Boolean.class).addListener(event -> onHotReloadChange(manager, event));
+    }
+
+    public static void onHotReloadChange(@NotNull ServerRGRuleManager manager, @NotNull RGRuleChangeEvent<Boolean> event) {
+        if (!(event instanceof RGRuleChangeEvent.Server<Boolean> server) || server.getServer() == null) return;
+        if (server.getNewValue()) {
+            manager.startWatching(server.getServer());
+        } else {
+            manager.stopWatching();
+        }
+    }
+
+    public static void onViewDistanceChange(@NotNull RGRuleChangeEvent<Integer> event) {
+        if (event instanceof RGRuleChangeEvent.Server<Integer> server) {
+            changeViewDistance(server.getServer(), server.getNewValue());
+        }
+    }
+
+    public static void onSimulationDistanceChange(@NotNull RGRuleChangeEvent<Integer> event) {
+        if (event instanceof RGRuleChangeEvent.Server<Integer> server) {
+            changeSimulationDistance(server.getServer(), server.getNewValue());
         }
     }
 
@@ -1,32 +1,34 @@
 package dev.anvilcraft.rg.mixin;
 
+import dev.anvilcraft.rg.tools.chest.menu.CustomChestMenu;
 import dev.anvilcraft.rg.tools.chest.menu.control.Button;
+import net.minecraft.core.NonNullList;
 import net.minecraft.core.component.DataComponents;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.inventory.ClickType;
 import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.component.CustomData;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 @Mixin(AbstractContainerMenu.class)
 public class AbstractContainerMenuMixin {
+    @Shadow @Final
+    public NonNullList<Slot> slots;
+
     @Inject(method = "doClick", at = @At("HEAD"), cancellable = true)
     private void doClick(int slotIndex, int button, ClickType clickType, Player player, CallbackInfo ci) {
-        if (slotIndex < 0) return;
-        Slot slot = ((AbstractContainerMenu) (Object) this).getSlot(slotIndex);
-        ItemStack itemStack = slot.getItem();
-        CustomData customData = itemStack.get(DataComponents.CUSTOM_DATA);
-        if (customData == null || customData.copyTag().get(Button.RG_CLEAR) == null) {
-            return;
-        }
-        if (customData.copyTag().getBoolean(Button.RG_CLEAR)) {
-            itemStack.setCount(0);
-            ci.cancel();
-        }
+        if (slotIndex < 0 || slotIndex >= this.slots.size()) return;
+        ItemStack itemStack = this.slots.get(slotIndex).getItem();
+        // 被带出菜单的按钮物品在其他容器中被点击时同样需要清除，因此不能只检查CustomChestMenu
+        if (!Button.isButton(itemStack.get(DataComponents.CUSTOM_DATA))) return;
+        itemStack.setCount(0);
+        if (this.slots.get(0).container instanceof CustomChestMenu menu) menu.markDirty();
+        ci.cancel();
     }
 }
@@ -0,0 +1,12 @@
+package dev.anvilcraft.rg.mixin;
+
+import net.minecraft.server.level.ChunkMap;
+import net.minecraft.server.level.ServerPlayer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+@Mixin(ChunkMap.class)
+public interface ChunkMapAccessor {
+    @Invoker
+    void invokeUpdateChunkTracking(ServerPlayer player);
+}
@@ -0,0 +1,31 @@
+package dev.anvilcraft.rg.mixin;
+
+import dev.anvilcraft.rg.RollingGate;
+import dev.anvilcraft.rg.api.RGRule;
+import net.minecraft.server.level.ChunkMap;
+import net.minecraft.server.level.ServerPlayer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(ChunkMap.class)
+public class ChunkMapMixin {
+    @Unique
+    private static RGRule<Integer> rolling_gate$viewDistance = null;
+
+    @Inject(
+        method = {"getPlayerViewDistance"},
+        at = {@At("RETURN")},
+        cancellable = true
+    )
+    private void playerViewDistance(ServerPlayer player, CallbackInfoReturnable<Integer> cir) {
+        if (rolling_gate$viewDistance == null) {
+            rolling_gate$viewDistance = RollingGate.getServerRuleManager().getRule("view_distance", Integer.class);
+        }
+        // 依次使用玩家与所在维度的覆盖值，玩家的视距只能比服务器的视距更小，区块仍然由服务器视距加载
+        int distance = rolling_gate$viewDistance.getValue(player);
+        if (distance >= 2 && distance < cir.getReturnValue()) cir.setReturnValue(distance);
+    }
+}
@@ -6,7 +6,6 @@ import net.minecraft.core.component.DataComponentMap;
 import net.minecraft.core.component.DataComponents;
 import net.minecraft.core.component.PatchedDataComponentMap;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.component.CustomData;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
@@ -21,8 +20,7 @@ abstract class ItemStackMixin {
 
     @Inject(method = "getComponents", at = @At("HEAD"), cancellable = true)
     private void getComponents(CallbackInfoReturnable<DataComponentMap> cir) {
-        CustomData customData = this.components.get(DataComponents.CUSTOM_DATA);
-        if (customData == null || customData.copyTag().get(Button.RG_CLEAR) == null) {
+        if (!Button.isButton(this.components.get(DataComponents.CUSTOM_DATA))) {
             return;
         }
         cir.setReturnValue(this.components);
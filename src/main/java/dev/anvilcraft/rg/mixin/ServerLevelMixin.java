@@ -0,0 +1,23 @@
+package dev.anvilcraft.rg.mixin;
+
+import dev.anvilcraft.rg.api.RuleOverrideHolder;
+import net.minecraft.server.level.ServerLevel;
+import org.jetbrains.annotations.NotNull;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(ServerLevel.class)
+public class ServerLevelMixin implements RuleOverrideHolder {
+    @Unique
+    private volatile Object[] rolling_gate$ruleOverrides = RuleOverrideHolder.EMPTY;
+
+    @Override
+    public Object @NotNull [] rolling_gate$getRuleOverrides() {
+        return this.rolling_gate$ruleOverrides;
+    }
+
+    @Override
+    public void rolling_gate$setRuleOverrides(Object @NotNull [] overrides) {
+        this.rolling_gate$ruleOverrides = overrides;
+    }
+}
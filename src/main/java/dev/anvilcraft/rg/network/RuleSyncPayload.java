@@ -0,0 +1,152 @@
+package dev.anvilcraft.rg.network;
+
+import dev.anvilcraft.rg.RollingGate;
+import dev.anvilcraft.rg.api.RGRule;
+import dev.anvilcraft.rg.api.client.ClientRGRuleManager;
+import io.netty.handler.codec.DecoderException;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 将服务器规则的值同步到客户端的数据包
+ * <p>
+ * 完整同步包含每个规则的编号、序列化名称与值；之后的增量同步只包含变化的规则的编号与值。
+ * 值以类型标记加二进制的形式编码，客户端无需知道规则的定义即可解码
+ *
+ * @param namespace 规则管理器的命名空间
+ * @param full      是否为完整同步
+ * @param entries   同步的规则
+ */
+public record RuleSyncPayload(String namespace, boolean full, List<Entry> entries) implements CustomPacketPayload {
+    public static final Type<RuleSyncPayload> TYPE = new Type<>(RollingGate.id("rule_sync"));
+    public static final StreamCodec<FriendlyByteBuf, RuleSyncPayload> STREAM_CODEC = StreamCodec.ofMember(
+        RuleSyncPayload::write,
+        RuleSyncPayload::read
+    );
+
+    private static final byte NULL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte BYTE = 2;
+    private static final byte SHORT = 3;
+    private static final byte INTEGER = 4;
+    private static final byte LONG = 5;
+    private static final byte FLOAT = 6;
+    private static final byte DOUBLE = 7;
+    private static final byte STRING = 8;
+
+    /**
+     * 同步的规则
+     *
+     * @param id    规则在完整同步中的编号
+     * @param name  规则的序列化名称，只在完整同步中存在
+     * @param value 规则的值，自定义类型的值会以字符串的形式同步
+     */
+    public record Entry(int id, @Nullable String name, Object value) {
+        /**
+         * 从规则创建同步项
+         *
+         * @param id   规则的编号
+         * @param rule 规则
+         * @param full 是否包含规则的名称
+         * @param <T>  规则值的类型
+         * @return 同步项
+         */
+        public static <T> @NotNull Entry of(int id, @NotNull RGRule<T> rule, boolean full) {
+            T value = rule.getValue();
+            Object synced = value == null || RuleSyncPayload.tagOf(value) != STRING ? value : rule.codec().encode(value);
+            return new Entry(id, full ? rule.serialize() : null, synced);
+        }
+    }
+
+    @Override
+    public @NotNull Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+
+    private void write(@NotNull FriendlyByteBuf buf) {
+        buf.writeUtf(this.namespace);
+        buf.writeBoolean(this.full);
+        buf.writeVarInt(this.entries.size());
+        for (Entry entry : this.entries) {
+            buf.writeVarInt(entry.id());
+            if (this.full) buf.writeUtf(entry.name() == null ? "" : entry.name());
+            RuleSyncPayload.writeValue(buf, entry.value());
+        }
+    }
+
+    private static @NotNull RuleSyncPayload read(@NotNull FriendlyByteBuf buf) {
+        String namespace = buf.readUtf();
+        boolean full = buf.readBoolean();
+        int size = buf.readVarInt();
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int id = buf.readVarInt();
+            String name = full ? buf.readUtf() : null;
+            entries.add(new Entry(id, name, RuleSyncPayload.readValue(buf)));
+        }
+        return new RuleSyncPayload(namespace, full, entries);
+    }
+
+    private static byte tagOf(@NotNull Object value) {
+        if (value instanceof Boolean) return BOOLEAN;
+        if (value instanceof Byte) return BYTE;
+        if (value instanceof Short) return SHORT;
+        if (value instanceof Integer) return INTEGER;
+        if (value instanceof Long) return LONG;
+        if (value instanceof Float) return FLOAT;
+        if (value instanceof Double) return DOUBLE;
+        return STRING;
+    }
+
+    private static void writeValue(@NotNull FriendlyByteBuf buf, Object value) {
+        if (value == null) {
+            buf.writeByte(NULL);
+            return;
+        }
+        byte tag = RuleSyncPayload.tagOf(value);
+        buf.writeByte(tag);
+        switch (tag) {
+            case BOOLEAN -> buf.writeBoolean((Boolean) value);
+            case BYTE -> buf.writeByte((Byte) value);
+            case SHORT -> buf.writeShort((Short) value);
+            case INTEGER -> buf.writeVarInt((Integer) value);
+            case LONG -> buf.writeVarLong((Long) value);
+            case FLOAT -> buf.writeFloat((Float) value);
+            case DOUBLE -> buf.writeDouble((Double) value);
+            default -> buf.writeUtf(value.toString());
+        }
+    }
+
+    private static Object readValue(@NotNull FriendlyByteBuf buf) {
+        byte tag = buf.readByte();
+        return switch (tag) {
+            case NULL -> null;
+            case BOOLEAN -> buf.readBoolean();
+            case BYTE -> buf.readByte();
+            case SHORT -> buf.readShort();
+            case INTEGER -> buf.readVarInt();
+            case LONG -> buf.readVarLong();
+            case FLOAT -> buf.readFloat();
+            case DOUBLE -> buf.readDouble();
+            case STRING -> buf.readUtf();
+            default -> throw new DecoderException("Unknown rule value type: " + tag);
+        };
+    }
+
+    /**
+     * 在客户端处理同步数据包
+     *
+     * @param payload 数据包
+     * @param context 数据包上下文
+     */
+    public static void handle(@NotNull RuleSyncPayload payload, @NotNull IPayloadContext context) {
+        ClientRGRuleManager.acceptServerValues(payload);
+    }
+}
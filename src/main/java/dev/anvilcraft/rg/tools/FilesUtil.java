@@ -9,6 +9,7 @@ import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.level.storage.LevelResource;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
@@ -16,6 +17,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.function.Function;
@@ -57,6 +59,11 @@ public abstract class FilesUtil {
 
     protected abstract void save(@NotNull BufferedWriter bw);
 
+    public @Nullable Path getPath() {
+        if (this.server == null) return null;
+        return this.server.getWorldPath(LevelResource.ROOT).resolve(this.rgJson);
+    }
+
     public void save() {
         if (this.server == null) return;
         File file = this.server.getWorldPath(LevelResource.ROOT).resolve(this.rgJson).toFile();
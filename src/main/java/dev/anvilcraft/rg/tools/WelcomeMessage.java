@@ -36,34 +36,23 @@ import java.util.regex.Pattern;
 
 public class WelcomeMessage {
     public static final String ARGS_REGEX = "\\{%\\w+%}";
+    public static final Pattern ARGS_PATTERN = Pattern.compile(ARGS_REGEX);
     public static final FilesUtil.ObjFile<MessageConfig> WELCOME_MESSAGE = new FilesUtil.ObjFile<>("welcome", new MessageConfig());
 
     public static void onPlayerLoggedIn(@NotNull ServerPlayer player) {
         MinecraftServer server = player.getServer();
         if (server == null) return;
         WELCOME_MESSAGE.init(server);
-        MessageConfig config = WELCOME_MESSAGE.obj;
-        for (String msg : config.message) {
-            List<String> argKeys = new ArrayList<>();
-            Matcher matcher = Pattern.compile(ARGS_REGEX).matcher(msg);
-            while (matcher.find()) argKeys.add(msg.substring(matcher.start() + 2, matcher.end() - 2));
-            List<String> split = new ArrayList<>(List.of(msg.split(ARGS_REGEX)));
-            List<MessageData> args = argKeys.stream().map(config::getArg).toList();
-            for (int i = split.size(); i < args.size() + 1; i++) split.add("");
-            MutableComponent component = Component.literal("").withStyle(ChatFormatting.WHITE);
-            for (int i = 0; i < split.size(); i++) {
-                component.append(split.get(i));
-                if (i >= args.size()) continue;
-                MessageData messageData = args.get(i);
-                component.append(messageData.getMsg(server, player).withStyle(messageData.color));
-            }
-            player.sendSystemMessage(component);
+        for (Template template : WELCOME_MESSAGE.obj.getTemplates()) {
+            player.sendSystemMessage(template.render(server, player));
         }
     }
 
     public static class MessageConfig {
         public List<String> message = new ArrayList<>();
         public Map<String, MessageData> args = new HashMap<>();
+        // 编译后的消息模板，配置重新加载时会创建新的对象，因此只需编译一次
+        private transient List<Template> templates = null;
 
         public MessageConfig() {
             message.add("{%player%}, welcome!");
@@ -73,6 +62,45 @@ public class WelcomeMessage {
         public MessageData getArg(String key) {
             return args.getOrDefault(key, new MessageData());
         }
+
+        public @NotNull List<Template> getTemplates() {
+            if (this.templates != null) return this.templates;
+            List<Template> templates = new ArrayList<>(this.message.size());
+            for (String msg : this.message) templates.add(Template.compile(msg, this));
+            this.templates = List.copyOf(templates);
+            return this.templates;
+        }
+    }
+
+    /**
+     * 预编译的消息模板，literals比args多一个元素，渲染时依次交替拼接
+     */
+    public record Template(String[] literals, MessageData[] args) {
+        public static @NotNull Template compile(@NotNull String msg, @NotNull MessageConfig config) {
+            List<String> literals = new ArrayList<>();
+            List<MessageData> args = new ArrayList<>();
+            Matcher matcher = ARGS_PATTERN.matcher(msg);
+            int last = 0;
+            while (matcher.find()) {
+                literals.add(msg.substring(last, matcher.start()));
+                args.add(config.getArg(msg.substring(matcher.start() + 2, matcher.end() - 2)));
+                last = matcher.end();
+            }
+            literals.add(msg.substring(last));
+            return new Template(literals.toArray(String[]::new), args.toArray(MessageData[]::new));
+        }
+
+        public @NotNull MutableComponent render(@NotNull MinecraftServer server, @NotNull ServerPlayer player) {
+            MutableComponent component = Component.literal("").withStyle(ChatFormatting.WHITE);
+            for (int i = 0; i < this.args.length; i++) {
+                if (!this.literals[i].isEmpty()) component.append(this.literals[i]);
+                MessageData messageData = this.args[i];
+                component.append(messageData.getMsg(server, player).withStyle(messageData.color));
+            }
+            String tail = this.literals[this.args.length];
+            if (!tail.isEmpty()) component.append(tail);
+            return component;
+        }
     }
 
     public static class MessageData {
@@ -11,9 +11,28 @@ import java.util.Map;
 public abstract class CustomChestMenu implements Container {
     public final List<Map.Entry<Integer, Button>> buttons = new ArrayList<>();
     public final List<ButtonList> buttonLists = new ArrayList<>();
+    // 槽位或按钮状态是否发生过变化，未变化时tick不做任何事
+    private boolean dirty = true;
 
     public void tick() {
+        if (!this.dirty) return;
         this.checkButton();
+        // 更新按钮时写入的槽位不会再次标记菜单
+        this.dirty = false;
+    }
+
+    // 槽位被修改、按钮被点击或通过代码修改按钮状态后调用，按钮会在下一次tick时重新检查
+    public void markDirty() {
+        this.dirty = true;
+    }
+
+    public boolean isDirty() {
+        return this.dirty;
+    }
+
+    @Override
+    public void setChanged() {
+        this.markDirty();
     }
 
     public void addButton(int slot, Button button) {
@@ -21,6 +40,7 @@ public abstract class CustomChestMenu implements Container {
             return;
         }
         buttons.add(Map.entry(slot, button));
+        this.markDirty();
     }
 
     public void addButtonList(ButtonList buttonList) {
@@ -28,9 +48,12 @@ public abstract class CustomChestMenu implements Container {
     }
 
     private void checkButton() {
+        // 先处理所有点击，按钮组可能会修改其他按钮的状态，再统一更新槽位
+        for (Map.Entry<Integer, Button> button : buttons) {
+            button.getValue().checkClick(this, button.getKey());
+        }
         for (Map.Entry<Integer, Button> button : buttons) {
-            button.getValue().checkButton(this, button.getKey());
+            button.getValue().updateButton(this, button.getKey());
         }
     }
 }
-
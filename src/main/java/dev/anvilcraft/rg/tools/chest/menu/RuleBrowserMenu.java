@@ -0,0 +1,390 @@
+package dev.anvilcraft.rg.tools.chest.menu;
+
+import dev.anvilcraft.rg.RollingGate;
+import dev.anvilcraft.rg.RollingGateServerRules;
+import dev.anvilcraft.rg.api.RGRule;
+import dev.anvilcraft.rg.api.RGRuleException;
+import dev.anvilcraft.rg.api.RGRuleSnapshot;
+import dev.anvilcraft.rg.api.server.ServerRGRuleManager;
+import dev.anvilcraft.rg.api.server.TranslationUtil;
+import dev.anvilcraft.rg.tools.chest.menu.control.AutoResetButton;
+import dev.anvilcraft.rg.tools.chest.menu.control.Button;
+import dev.anvilcraft.rg.tools.chest.menu.control.RadioList;
+import net.minecraft.ChatFormatting;
+import net.minecraft.core.NonNullList;
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.Style;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.SimpleMenuProvider;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.inventory.ChestMenu;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.component.ItemLore;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 以箱子界面浏览和修改规则
+ * <p>
+ * 第一行为类别标签，中间四行每行显示一个规则及其可选值，最后一行用于规则翻页与类别翻页。
+ * 规则的信息物品显示规则的当前值，并标记未显示的可选值。
+ * 规则与类别的物品按语言缓存，菜单只在被点击或规则变化后更新，且只写入发生变化的槽位
+ */
+public class RuleBrowserMenu extends CustomChestMenu {
+    private static final int SIZE = 54;
+    private static final int RULES_PER_PAGE = 4;
+    private static final int VALUES_PER_RULE = 8;
+    private static final int TABS_PER_PAGE = 9;
+    private static final int PREVIOUS_SLOT = 45;
+    private static final int PAGE_SLOT = 49;
+    private static final int NEXT_SLOT = 53;
+    private static final int PREVIOUS_TABS_SLOT = 46;
+    private static final int NEXT_TABS_SLOT = 52;
+    private static final Style LORE = Style.EMPTY.withItalic(false);
+    // 当前打开的菜单
+    private static final Set<RuleBrowserMenu> OPEN = new HashSet<>();
+    // 按语言缓存的物品，语言变化后重新构建
+    private static String cachedLanguage = null;
+    private static final Map<RGRule<?>, RuleStacks> RULE_STACKS = new HashMap<>();
+    private static final Map<String, ItemStack[]> TAB_STACKS = new HashMap<>();
+
+    private final ServerRGRuleManager manager;
+    private final NonNullList<ItemStack> items = NonNullList.withSize(SIZE, ItemStack.EMPTY);
+    private final List<String> categories;
+    private final List<Button> tabs = new ArrayList<>();
+    private final Map<RGRule<?>, RuleRow> rows = new HashMap<>();
+    // 不是按钮的物品，被点击后会在下一次tick时放回
+    private final Map<Integer, ItemStack> decorations = new HashMap<>();
+    // 当前页中规则的信息物品所在的槽位，以及信息物品显示的值
+    private final Map<RGRule<?>, Integer> infoSlots = new HashMap<>();
+    private final Map<RGRule<?>, String> infoValues = new HashMap<>();
+    private final Button previous;
+    private final Button next;
+    private final Button previousTabs;
+    private final Button nextTabs;
+    private String category;
+    private int page = 0;
+    private int tabPage = 0;
+    private boolean rebuild = false;
+    private long generation;
+
+    private RuleBrowserMenu(@NotNull ServerRGRuleManager manager) {
+        this.manager = manager;
+        this.categories = new ArrayList<>(manager.getCategories());
+        this.category = this.categories.isEmpty() ? null : this.categories.get(0);
+        for (String category : this.categories) {
+            ItemStack[] stacks = RuleBrowserMenu.tabStacks(manager, category);
+            Button tab = new Button(false, stacks[0], stacks[1]);
+            tab.addTurnOnFunction(() -> this.selectCategory(category));
+            this.tabs.add(tab);
+        }
+        if (!this.tabs.isEmpty()) new RadioList(this.tabs, true);
+        this.previous = new AutoResetButton("rolling_gate.chest_menu.page.previous", Items.ARROW);
+        this.previous.addTurnOnFunction(() -> this.changePage(-1));
+        this.next = new AutoResetButton("rolling_gate.chest_menu.page.next", Items.ARROW);
+        this.next.addTurnOnFunction(() -> this.changePage(1));
+        this.previousTabs = new AutoResetButton("rolling_gate.chest_menu.category.previous", Items.SPECTRAL_ARROW);
+        this.previousTabs.addTurnOnFunction(() -> this.changeTabPage(-1));
+        this.nextTabs = new AutoResetButton("rolling_gate.chest_menu.category.next", Items.SPECTRAL_ARROW);
+        this.nextTabs.addTurnOnFunction(() -> this.changeTabPage(1));
+        this.generation = RGRuleSnapshot.current().generation();
+        this.build();
+    }
+
+    public static void open(@NotNull ServerPlayer player, @NotNull ServerRGRuleManager manager) {
+        RuleBrowserMenu menu = new RuleBrowserMenu(manager);
+        player.openMenu(new SimpleMenuProvider(
+            (id, inventory, p) -> ChestMenu.sixRows(id, inventory, menu),
+            TranslationUtil.trans("rolling_gate.chest_menu.rule_browser.title")
+        ));
+    }
+
+    // 每个服务器刻调用一次，没有打开的菜单或菜单未变化时不做任何事
+    public static void tickAll() {
+        if (OPEN.isEmpty()) return;
+        long generation = RGRuleSnapshot.current().generation();
+        for (RuleBrowserMenu menu : OPEN) {
+            if (menu.generation != generation) {
+                menu.generation = generation;
+                menu.syncValues();
+            }
+            menu.tick();
+        }
+    }
+
+    @Override
+    public void tick() {
+        if (this.isDirty()) this.restoreDecorations();
+        super.tick();
+        // 按钮的回调在遍历按钮时执行，因此翻页与切换类别推迟到遍历结束后
+        if (this.rebuild) {
+            this.rebuild = false;
+            this.build();
+            super.tick();
+        }
+    }
+
+    private void selectCategory(String category) {
+        if (category.equals(this.category)) return;
+        this.category = category;
+        this.page = 0;
+        this.rebuild = true;
+    }
+
+    private void changePage(int delta) {
+        this.page += delta;
+        this.rebuild = true;
+    }
+
+    private void changeTabPage(int delta) {
+        this.tabPage += delta;
+        this.rebuild = true;
+    }
+
+    private void build() {
+        this.buttons.clear();
+        this.decorations.clear();
+        this.infoSlots.clear();
+        this.infoValues.clear();
+        for (int i = 0; i < SIZE; i++) this.items.set(i, ItemStack.EMPTY);
+        // 类别超过一行时分页显示，类别翻页按钮使用最后一行的空闲槽位
+        int tabPages = Math.max(1, (this.tabs.size() + TABS_PER_PAGE - 1) / TABS_PER_PAGE);
+        this.tabPage = Math.max(0, Math.min(this.tabPage, tabPages - 1));
+        int tabEnd = Math.min(this.tabs.size(), (this.tabPage + 1) * TABS_PER_PAGE);
+        for (int i = this.tabPage * TABS_PER_PAGE; i < tabEnd; i++) {
+            Button tab = this.tabs.get(i);
+            if (this.categories.get(i).equals(this.category)) {
+                tab.turnOnWithoutFunction();
+            } else {
+                tab.turnOffWithoutFunction();
+            }
+            this.place(i % TABS_PER_PAGE, tab);
+        }
+        if (this.tabPage > 0) this.place(PREVIOUS_TABS_SLOT, this.previousTabs);
+        if (this.tabPage < tabPages - 1) this.place(NEXT_TABS_SLOT, this.nextTabs);
+        List<RGRule<?>> rules = this.category == null ? List.of() : new ArrayList<>(this.manager.getRulesInCategory(this.category));
+        int pages = Math.max(1, (rules.size() + RULES_PER_PAGE - 1) / RULES_PER_PAGE);
+        this.page = Math.max(0, Math.min(this.page, pages - 1));
+        int end = Math.min(rules.size(), (this.page + 1) * RULES_PER_PAGE);
+        for (int i = this.page * RULES_PER_PAGE; i < end; i++) {
+            RGRule<?> rule = rules.get(i);
+            int base = (i % RULES_PER_PAGE + 1) * 9;
+            this.infoSlots.put(rule, base);
+            RuleRow row = this.rows.computeIfAbsent(rule, this::createRow);
+            this.syncRow(rule, row);
+            for (int j = 0; j < row.buttons().size(); j++) this.place(base + 1 + j, row.buttons().get(j));
+        }
+        this.decorations.put(PAGE_SLOT, RuleBrowserMenu.pageStack(this.page + 1, pages));
+        if (this.page > 0) this.place(PREVIOUS_SLOT, this.previous);
+        if (this.page < pages - 1) this.place(NEXT_SLOT, this.next);
+        this.restoreDecorations();
+        this.markDirty();
+    }
+
+    private void place(int slot, @NotNull Button button) {
+        button.reset();
+        this.addButton(slot, button);
+    }
+
+    private void restoreDecorations() {
+        for (Map.Entry<Integer, ItemStack> entry : this.decorations.entrySet()) {
+            if (this.items.get(entry.getKey()).isEmpty()) this.items.set(entry.getKey(), entry.getValue().copy());
+        }
+    }
+
+    private @NotNull RuleRow createRow(@NotNull RGRule<?> rule) {
+        RuleStacks stacks = RuleBrowserMenu.ruleStacks(rule);
+        List<Button> buttons = new ArrayList<>();
+        for (int i = 0; i < stacks.values().length; i++) {
+            String value = stacks.values()[i];
+            Button button = new Button(false, stacks.on()[i], stacks.off()[i]);
+            button.addTurnOnFunction(() -> this.select(rule, value));
+            buttons.add(button);
+        }
+        if (!buttons.isEmpty()) new RadioList(buttons, true);
+        return new RuleRow(stacks.values(), buttons);
+    }
+
+    private void select(@NotNull RGRule<?> rule, String value) {
+        try {
+            rule.setFieldValue(value);
+        } catch (RGRuleException e) {
+            RollingGate.LOGGER.warn("Failed to set rule {} from rule browser: {}", rule.name(), e.getMessage());
+        }
+        // 修改可能被监听器取消或改写，以规则的实际值为准
+        RuleRow row = this.rows.get(rule);
+        if (row != null) this.syncRow(rule, row);
+    }
+
+    private void syncValues() {
+        for (Map.Entry<RGRule<?>, RuleRow> entry : this.rows.entrySet()) this.syncRow(entry.getKey(), entry.getValue());
+    }
+
+    private void syncRow(@NotNull RGRule<?> rule, @NotNull RuleRow row) {
+        String current = RuleBrowserMenu.encode(rule);
+        Integer slot = this.infoSlots.get(rule);
+        if (slot != null && !current.equals(this.infoValues.put(rule, current))) {
+            ItemStack info = RuleBrowserMenu.infoStack(rule, current);
+            this.decorations.put(slot, info);
+            this.items.set(slot, info.copy());
+        }
+        for (int i = 0; i < row.buttons().size(); i++) {
+            Button button = row.buttons().get(i);
+            if (row.values()[i].equals(current)) {
+                button.turnOnWithoutFunction();
+            } else {
+                button.turnOffWithoutFunction();
+            }
+        }
+        this.markDirty();
+    }
+
+    private static <T> @NotNull String encode(@NotNull RGRule<T> rule) {
+        return rule.codec().encode(rule.getValue());
+    }
+
+    private static void checkLanguage() {
+        String language = RollingGateServerRules.language;
+        if (language.equals(cachedLanguage)) return;
+        cachedLanguage = language;
+        RULE_STACKS.clear();
+        TAB_STACKS.clear();
+    }
+
+    private static @NotNull RuleStacks ruleStacks(@NotNull RGRule<?> rule) {
+        RuleBrowserMenu.checkLanguage();
+        return RULE_STACKS.computeIfAbsent(rule, r -> {
+            String[] values = Arrays.copyOf(r.allowed(), Math.min(r.allowed().length, VALUES_PER_RULE));
+            List<Component> lore = new ArrayList<>();
+            lore.add(TranslationUtil.trans(r.getDescriptionTranslationKey()).withStyle(LORE.withColor(ChatFormatting.GRAY)));
+            int hidden = r.allowed().length - values.length;
+            if (hidden > 0) {
+                lore.add(TranslationUtil.trans("rolling_gate.chest_menu.rule_browser.more_values", hidden).withStyle(LORE.withColor(ChatFormatting.DARK_GRAY)));
+            }
+            ItemStack info = RuleBrowserMenu.stack(Items.PAPER, TranslationUtil.trans(r.getNameTranslationKey()).withStyle(ChatFormatting.YELLOW));
+            info.set(DataComponents.LORE, new ItemLore(lore));
+            ItemStack[] on = new ItemStack[values.length];
+            ItemStack[] off = new ItemStack[values.length];
+            for (int i = 0; i < values.length; i++) {
+                on[i] = RuleBrowserMenu.stack(Items.LIME_STAINED_GLASS_PANE, Component.literal(values[i]).withStyle(ChatFormatting.GREEN));
+                off[i] = RuleBrowserMenu.stack(Items.GRAY_STAINED_GLASS_PANE, Component.literal(values[i]).withStyle(ChatFormatting.GRAY));
+            }
+            return new RuleStacks(info, values, on, off);
+        });
+    }
+
+    // 当前值不在显示的可选值中时没有值按钮被选中，因此信息物品总是显示当前值，并标记未列出的值
+    private static @NotNull ItemStack infoStack(@NotNull RGRule<?> rule, @NotNull String current) {
+        RuleStacks stacks = RuleBrowserMenu.ruleStacks(rule);
+        boolean listed = Arrays.asList(stacks.values()).contains(current);
+        List<Component> lore = new ArrayList<>(stacks.info().getOrDefault(DataComponents.LORE, ItemLore.EMPTY).lines());
+        lore.add(TranslationUtil.trans(
+            listed ? "rolling_gate.chest_menu.rule_browser.current" : "rolling_gate.chest_menu.rule_browser.current_unlisted", current
+        ).withStyle(LORE.withColor(listed ? ChatFormatting.WHITE : ChatFormatting.GOLD)));
+        ItemStack info = stacks.info().copy();
+        info.set(DataComponents.LORE, new ItemLore(lore));
+        return info;
+    }
+
+    private static ItemStack @NotNull [] tabStacks(@NotNull ServerRGRuleManager manager, String category) {
+        RuleBrowserMenu.checkLanguage();
+        return TAB_STACKS.computeIfAbsent(category, c -> {
+            Component name = TranslationUtil.trans(manager.getDescriptionCategoryKey(c));
+            return new ItemStack[]{
+                RuleBrowserMenu.stack(Items.ENCHANTED_BOOK, name.copy().withStyle(ChatFormatting.AQUA)),
+                RuleBrowserMenu.stack(Items.BOOK, name.copy().withStyle(ChatFormatting.GRAY))
+            };
+        });
+    }
+
+    private static @NotNull ItemStack pageStack(int page, int pages) {
+        return RuleBrowserMenu.stack(Items.MAP, TranslationUtil.trans("rolling_gate.chest_menu.page.current", page, pages).withStyle(ChatFormatting.WHITE));
+    }
+
+    private static @NotNull ItemStack stack(@NotNull Item item, @NotNull Component name) {
+        ItemStack stack = new ItemStack(item);
+        stack.set(DataComponents.ITEM_NAME, name);
+        // 装饰物品同样使用按钮标记，点击时不会被取走
+        stack.set(DataComponents.CUSTOM_DATA, Button.MARKER);
+        return stack;
+    }
+
+    @Override
+    public int getContainerSize() {
+        return SIZE;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (ItemStack stack : this.items) {
+            if (!stack.isEmpty()) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public @NotNull ItemStack getItem(int slot) {
+        return this.items.get(slot);
+    }
+
+    @Override
+    public @NotNull ItemStack removeItem(int slot, int amount) {
+        return ItemStack.EMPTY;
+    }
+
+    @Override
+    public @NotNull ItemStack removeItemNoUpdate(int slot) {
+        return ItemStack.EMPTY;
+    }
+
+    @Override
+    public void setItem(int slot, @NotNull ItemStack stack) {
+        this.items.set(slot, stack);
+        this.markDirty();
+    }
+
+    @Override
+    public boolean canPlaceItem(int slot, @NotNull ItemStack stack) {
+        return false;
+    }
+
+    @Override
+    public boolean stillValid(@NotNull Player player) {
+        return true;
+    }
+
+    @Override
+    public void startOpen(@NotNull Player player) {
+        OPEN.add(this);
+    }
+
+    @Override
+    public void stopOpen(@NotNull Player player) {
+        OPEN.remove(this);
+    }
+
+    @Override
+    public void clearContent() {
+        this.buttons.clear();
+        this.decorations.clear();
+        this.infoSlots.clear();
+        this.infoValues.clear();
+        for (int i = 0; i < SIZE; i++) this.items.set(i, ItemStack.EMPTY);
+    }
+
+    private record RuleStacks(ItemStack info, String[] values, ItemStack[] on, ItemStack[] off) {
+    }
+
+    private record RuleRow(String[] values, List<Button> buttons) {
+    }
+}
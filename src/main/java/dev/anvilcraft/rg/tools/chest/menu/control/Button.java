@@ -23,8 +23,12 @@ public class Button {
     private boolean flag;
     private final ItemStack onItem;
     private final ItemStack offItem;
-    CompoundTag compoundTag = new CompoundTag();
+    // 最近一次写入槽位的按钮物品及其对应的状态
+    private ItemStack displayed = null;
+    private boolean displayedFlag;
     public static final String RG_CLEAR = "RGClear";
+    // 所有按钮物品共用同一个CustomData实例，只需比较引用即可判断物品是否为按钮，不需要复制NBT
+    public static final CustomData MARKER = Button.createMarker();
 
     private final List<Consumer> turnOnConsumers = new ArrayList<>();
 
@@ -90,52 +94,77 @@ public class Button {
 
     public Button(boolean defaultState, Item onItem, Item offItem, int itemCount, Component onText, Component offText) {
         this.flag = defaultState;
-        this.compoundTag.putBoolean(RG_CLEAR, true);
 
         ItemStack onItemStack = new ItemStack(onItem, itemCount);
-        onItemStack.set(DataComponents.CUSTOM_DATA, CustomData.of(compoundTag));
+        onItemStack.set(DataComponents.CUSTOM_DATA, MARKER);
         onItemStack.set(DataComponents.ITEM_NAME, onText);
         this.onItem = onItemStack;
 
         ItemStack offItemStack = new ItemStack(offItem, itemCount);
-        offItemStack.set(DataComponents.CUSTOM_DATA, CustomData.of(compoundTag.copy()));
+        offItemStack.set(DataComponents.CUSTOM_DATA, MARKER);
         offItemStack.set(DataComponents.ITEM_NAME, offText);
         this.offItem = offItemStack;
     }
 
     public Button(boolean defaultState, @NotNull ItemStack onItem, @NotNull ItemStack offItem) {
         this.flag = defaultState;
-        this.compoundTag.putBoolean(RG_CLEAR, true);
 
         ItemStack onItemStack = onItem.copy();
-        onItemStack.set(DataComponents.CUSTOM_DATA, CustomData.of(compoundTag.copy()));
+        onItemStack.set(DataComponents.CUSTOM_DATA, MARKER);
         this.onItem = onItemStack;
 
         ItemStack offItemStack = offItem.copy();
-        offItemStack.set(DataComponents.CUSTOM_DATA, CustomData.of(compoundTag.copy()));
+        offItemStack.set(DataComponents.CUSTOM_DATA, MARKER);
         this.offItem = offItemStack;
     }
 
+    private static @NotNull CustomData createMarker() {
+        CompoundTag tag = new CompoundTag();
+        tag.putBoolean(RG_CLEAR, true);
+        return CustomData.of(tag);
+    }
+
+    // 物品复制时组件的值会被共享，因此复制后的按钮物品只需比较引用即可识别；
+    // 经过序列化的按钮物品（如重新登录或被移入其他容器）不再共享MARKER，此时检查标签，contains不会复制NBT
+    public static boolean isButton(CustomData customData) {
+        return customData == MARKER || customData != null && customData.contains(RG_CLEAR);
+    }
+
     public void checkButton(Container container, int slot) {
-        ItemStack onItemStack = this.onItem.copy();
-        ItemStack offItemStack = this.offItem.copy();
+        this.checkClick(container, slot);
+        this.updateButton(container, slot);
+    }
+
+    // 按钮物品被点击后会变为空，此时切换按钮状态
+    public boolean checkClick(@NotNull Container container, int slot) {
         if (!this.init) {
-            updateButton(container, slot, onItemStack, offItemStack);
             this.init = true;
+            return false;
         }
-
-        ItemStack item = container.getItem(slot);
-
-        if (item.isEmpty()) {
-            this.flag = !flag;
-            if (flag) {
-                runTurnOnFunction();
-            } else {
-                runTurnOffFunction();
-            }
+        if (!container.getItem(slot).isEmpty()) return false;
+        this.flag = !flag;
+        if (flag) {
+            runTurnOnFunction();
+        } else {
+            runTurnOffFunction();
         }
+        return true;
+    }
+
+    // 只有槽位中的物品与按钮状态不一致时才写入，写入时才复制预先构建的按钮物品
+    public void updateButton(@NotNull Container container, int slot) {
+        ItemStack current = container.getItem(slot);
+        if (current == this.displayed && this.displayedFlag == this.flag && !current.isEmpty()) return;
+        if (!(current.is(this.onItem.getItem()) || current.is(this.offItem.getItem()) || current.isEmpty())) return;
+        this.displayed = (this.flag ? this.onItem : this.offItem).copy();
+        this.displayedFlag = this.flag;
+        container.setItem(slot, this.displayed);
+    }
 
-        updateButton(container, slot, onItemStack, offItemStack);
+    // 按钮被移动到其他槽位后调用，下一次检查时会重新写入按钮物品，且空槽位不会被视为点击
+    public void reset() {
+        this.init = false;
+        this.displayed = null;
     }
 
     public void updateButton(@NotNull Container container, int slot, @NotNull ItemStack onItemStack, ItemStack offItemStack) {
@@ -0,0 +1,266 @@
+package dev.anvilcraft.rg.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * RuleProcessor在编译期处理被@Rule注解的字段，为每个规则类生成一个静态注册表
+ * <p>
+ * 生成的注册表与规则类位于同一个包中，类名为规则类名加上"_RGRegistry"后缀，
+ * 其中包含预先计算好的序列化名称、验证器实例和编解码器，字段的VarHandle通过{@code MethodHandles.lookup()}直接查找。
+ * 所有注册表都会写入{@code META-INF/services}，运行时通过ServiceLoader查找。字段修饰符、类型和序列化名称的错误
+ * 会在编译期报告，而不是在模组加载时抛出异常
+ */
+@SupportedAnnotationTypes(RuleProcessor.RULE)
+public class RuleProcessor extends AbstractProcessor {
+    static final String RULE = "dev.anvilcraft.rg.api.Rule";
+    private static final String API = "dev.anvilcraft.rg.api";
+    private static final String SUFFIX = "_RGRegistry";
+    private static final String SERVICE = "META-INF/services/" + API + ".RGRuleRegistry";
+    private static final Pattern SERIALIZE = Pattern.compile("^[a-z][a-z0-9_]*$");
+    private static final Pattern CAMEL_CASE = Pattern.compile("([a-z])([A-Z]+)");
+    /**
+     * 支持的类型及其对应的包装类和编解码器
+     */
+    private static final Map<String, String[]> TYPES = Map.ofEntries(
+        Map.entry("boolean", new String[]{"java.lang.Boolean", "BOOLEAN"}),
+        Map.entry("java.lang.Boolean", new String[]{"java.lang.Boolean", "BOOLEAN"}),
+        Map.entry("byte", new String[]{"java.lang.Byte", "BYTE"}),
+        Map.entry("java.lang.Byte", new String[]{"java.lang.Byte", "BYTE"}),
+        Map.entry("short", new String[]{"java.lang.Short", "SHORT"}),
+        Map.entry("java.lang.Short", new String[]{"java.lang.Short", "SHORT"}),
+        Map.entry("int", new String[]{"java.lang.Integer", "INTEGER"}),
+        Map.entry("java.lang.Integer", new String[]{"java.lang.Integer", "INTEGER"}),
+        Map.entry("long", new String[]{"java.lang.Long", "LONG"}),
+        Map.entry("java.lang.Long", new String[]{"java.lang.Long", "LONG"}),
+        Map.entry("float", new String[]{"java.lang.Float", "FLOAT"}),
+        Map.entry("java.lang.Float", new String[]{"java.lang.Float", "FLOAT"}),
+        Map.entry("double", new String[]{"java.lang.Double", "DOUBLE"}),
+        Map.entry("java.lang.Double", new String[]{"java.lang.Double", "DOUBLE"}),
+        Map.entry("java.lang.String", new String[]{"java.lang.String", "STRING"})
+    );
+
+    private Elements elements;
+    private Messager messager;
+    private Filer filer;
+    // 已生成的注册表，在最后一轮写入服务文件
+    private final Set<String> registries = new TreeSet<>();
+    private final List<Element> origins = new ArrayList<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.messager = processingEnv.getMessager();
+        this.filer = processingEnv.getFiler();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            this.writeServices();
+            return false;
+        }
+        TypeElement rule = this.elements.getTypeElement(RuleProcessor.RULE);
+        if (rule == null) return false;
+        // 按声明规则的类分组，保持字段的声明顺序
+        Map<TypeElement, List<VariableElement>> owners = new LinkedHashMap<>();
+        for (VariableElement field : ElementFilter.fieldsIn(roundEnv.getElementsAnnotatedWith(rule))) {
+            owners.computeIfAbsent((TypeElement) field.getEnclosingElement(), k -> new ArrayList<>()).add(field);
+        }
+        for (Map.Entry<TypeElement, List<VariableElement>> entry : owners.entrySet()) {
+            List<String> rules = new ArrayList<>();
+            boolean valid = true;
+            for (VariableElement field : entry.getValue()) {
+                String source = this.generateRule(entry.getKey(), field, rule);
+                if (source == null) {
+                    valid = false;
+                    continue;
+                }
+                rules.add(source);
+            }
+            if (valid) this.writeRegistry(entry.getKey(), rules);
+        }
+        return false;
+    }
+
+    /**
+     * 检查字段并生成创建对应规则的源代码
+     *
+     * @return 创建规则的表达式，如果字段不合法则返回null
+     */
+    private String generateRule(TypeElement owner, VariableElement field, TypeElement rule) {
+        String name = field.getSimpleName().toString();
+        Set<Modifier> modifiers = field.getModifiers();
+        if (!modifiers.contains(Modifier.STATIC)) return this.error(field, "Field %s is not static", name);
+        if (!modifiers.contains(Modifier.PUBLIC)) return this.error(field, "Field %s is not public", name);
+        if (modifiers.contains(Modifier.FINAL)) return this.error(field, "Field %s can't be final", name);
+        String[] type = RuleProcessor.TYPES.get(RuleProcessor.typeName(field.asType()));
+        if (type == null) {
+            return this.error(field, "Field %s has unsupported type, this type can only be boolean, byte, int, long, float, double, String, but got %s", name, field.asType());
+        }
+        AnnotationMirror mirror = null;
+        for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+            if (annotation.getAnnotationType().asElement().equals(rule)) mirror = annotation;
+        }
+        if (mirror == null) return this.error(field, "Field %s is not annotated with @Rule", name);
+        Map<String, AnnotationValue> values = new LinkedHashMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : this.elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            values.put(entry.getKey().getSimpleName().toString(), entry.getValue());
+        }
+        String serialize = (String) values.get("serialize").getValue();
+        if (serialize.isEmpty()) serialize = CAMEL_CASE.matcher(name).replaceAll("$1_$2").toLowerCase();
+        if (!SERIALIZE.matcher(serialize).matches()) return this.error(field, "Invalid serialize string %s", serialize);
+        List<String> validators = new ArrayList<>();
+        for (AnnotationValue value : RuleProcessor.list(values.get("validator"))) {
+            TypeMirror validator = (TypeMirror) value.getValue();
+            TypeElement element = (TypeElement) ((DeclaredType) validator).asElement();
+            if (element.getModifiers().contains(Modifier.ABSTRACT)) {
+                return this.error(field, "Validator %s of field %s is abstract", element.getQualifiedName(), name);
+            }
+            validators.add("new %s()".formatted(element.getQualifiedName()));
+        }
+        // 与运行时相同的默认验证器
+        if (type[1].equals("BOOLEAN")) {
+            validators.add("new %s.RGValidator.BooleanValidator()".formatted(API));
+        } else if (type[1].equals("STRING") && validators.isEmpty()) {
+            validators.add("new %s.RGValidator.StringValidator()".formatted(API));
+        }
+        VariableElement env = (VariableElement) values.get("env").getValue();
+        String constant = this.elements.getConstantExpression(name);
+        return """
+                %1$s.RGRule.of(
+                    namespace,
+                    %2$s.class,
+                    %3$s,
+                    handle(%3$s, %11$s.class),
+                    %4$s.class,
+                    %1$s.RGEnvironment.%5$s,
+                    %6$s,
+                    %7$s,
+                    %8$s,
+                    java.util.List.of(%9$s),
+                    %1$s.RGCodec.%10$s
+                )""".formatted(
+            API,
+            owner.getQualifiedName(),
+            constant,
+            type[0],
+            env.getSimpleName(),
+            this.stringArray(values.get("categories")),
+            this.elements.getConstantExpression(serialize),
+            this.stringArray(values.get("allowed")),
+            String.join(", ", validators),
+            type[1],
+            RuleProcessor.typeName(field.asType())
+        );
+    }
+
+    private void writeRegistry(TypeElement owner, List<String> rules) {
+        PackageElement pkg = this.elements.getPackageOf(owner);
+        String binaryName = this.elements.getBinaryName(owner).toString();
+        String simpleName = (pkg.isUnnamed() ? binaryName : binaryName.substring(pkg.getQualifiedName().length() + 1)) + SUFFIX;
+        String qualifiedName = pkg.isUnnamed() ? simpleName : pkg.getQualifiedName() + "." + simpleName;
+        StringBuilder builder = new StringBuilder();
+        if (!pkg.isUnnamed()) builder.append("package ").append(pkg.getQualifiedName()).append(";\n\n");
+        builder.append("/**\n * Generated by RuleProcessor from ").append(owner.getQualifiedName()).append(", do not edit\n */\n");
+        builder.append("public final class ").append(simpleName).append(" implements ").append(API).append(".RGRuleRegistry {\n");
+        builder.append("    private static final java.lang.invoke.MethodHandles.Lookup LOOKUP = java.lang.invoke.MethodHandles.lookup();\n\n");
+        builder.append("    private static java.lang.invoke.VarHandle handle(String name, Class<?> type) {\n");
+        builder.append("        try {\n");
+        builder.append("            return LOOKUP.findStaticVarHandle(").append(owner.getQualifiedName()).append(".class, name, type);\n");
+        builder.append("        } catch (ReflectiveOperationException e) {\n");
+        builder.append("            throw ").append(API).append(".RGRuleException.illegalAccess(name);\n");
+        builder.append("        }\n");
+        builder.append("    }\n\n");
+        builder.append("    @Override\n");
+        builder.append("    public java.util.List<").append(API).append(".RGRule<?>> create(String namespace) {\n");
+        builder.append("        return java.util.List.of(\n");
+        builder.append(String.join(",\n", rules.stream().map(rule -> rule.indent(12).stripTrailing()).toList()));
+        builder.append("\n        );\n    }\n}\n");
+        try {
+            JavaFileObject file = this.filer.createSourceFile(qualifiedName, owner);
+            try (Writer writer = file.openWriter()) {
+                writer.write(builder.toString());
+            }
+            this.registries.add(qualifiedName);
+            this.origins.add(owner);
+        } catch (IOException e) {
+            this.messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write rule registry %s: %s".formatted(qualifiedName, e.getMessage()), owner);
+        }
+    }
+
+    /**
+     * 将所有生成的注册表写入服务文件，使运行时无需按类名逐个尝试加载
+     */
+    private void writeServices() {
+        if (this.registries.isEmpty()) return;
+        try {
+            FileObject file = this.filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE, this.origins.toArray(Element[]::new));
+            try (Writer writer = file.openWriter()) {
+                for (String registry : this.registries) writer.write(registry + "\n");
+            }
+        } catch (IOException e) {
+            this.messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write rule registry services: %s".formatted(e.getMessage()));
+        }
+    }
+
+    private String stringArray(AnnotationValue value) {
+        List<String> strings = new ArrayList<>();
+        for (AnnotationValue element : RuleProcessor.list(value)) {
+            strings.add(this.elements.getConstantExpression(element.getValue()));
+        }
+        return "new String[]{%s}".formatted(String.join(", ", strings));
+    }
+
+    private static String typeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) return type.getKind().name().toLowerCase();
+        if (type instanceof DeclaredType declared) return ((TypeElement) declared.asElement()).getQualifiedName().toString();
+        return type.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<? extends AnnotationValue> list(AnnotationValue value) {
+        return (List<? extends AnnotationValue>) value.getValue();
+    }
+
+    private String error(Element element, String msg, Object... args) {
+        this.messager.printMessage(Diagnostic.Kind.ERROR, msg.formatted(args), element);
+        return null;
+    }
+}
@@ -0,0 +1,89 @@
+package dev.anvilcraft.rg.api;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RGCodecTest {
+    @Test
+    void readsPrimitivesFromStream() throws IOException {
+        assertEquals(12, RGCodec.INTEGER.read(RGCodecTest.reader("12")));
+        assertEquals(12, RGCodec.INTEGER.read(RGCodecTest.reader("\"12\"")));
+        assertEquals(3000000000L, RGCodec.LONG.read(RGCodecTest.reader("3000000000")));
+        assertEquals(0.5, RGCodec.DOUBLE.read(RGCodecTest.reader("0.5")));
+        assertEquals((byte) 7, RGCodec.BYTE.read(RGCodecTest.reader("7")));
+        assertEquals(true, RGCodec.BOOLEAN.read(RGCodecTest.reader("true")));
+        assertEquals(false, RGCodec.BOOLEAN.read(RGCodecTest.reader("\"false\"")));
+        assertEquals("zh_cn", RGCodec.STRING.read(RGCodecTest.reader("\"zh_cn\"")));
+    }
+
+    @Test
+    void leavesStreamAfterValue() throws IOException {
+        JsonReader reader = RGCodecTest.reader("{\"a\": 1, \"b\": 2}");
+        reader.beginObject();
+        reader.nextName();
+        assertEquals(1, RGCodec.INTEGER.read(reader));
+        assertEquals("b", reader.nextName());
+        assertEquals(2, RGCodec.INTEGER.read(reader));
+        reader.endObject();
+    }
+
+    @Test
+    void rejectsNullFromStream() {
+        assertThrows(IllegalStateException.class, () -> RGCodec.INTEGER.read(RGCodecTest.reader("null")));
+        assertThrows(IllegalStateException.class, () -> RGCodec.STRING.read(RGCodecTest.reader("null")));
+    }
+
+    @Test
+    void rejectsIllegalValuesFromStream() {
+        assertThrows(NumberFormatException.class, () -> RGCodec.INTEGER.read(RGCodecTest.reader("1.5")));
+        assertThrows(IllegalArgumentException.class, () -> RGCodec.BOOLEAN.read(RGCodecTest.reader("\"yes\"")));
+    }
+
+    @Test
+    void readsPrimitivesFromElement() {
+        assertEquals(12, RGCodec.INTEGER.read(new JsonPrimitive(12)));
+        assertEquals(12, RGCodec.INTEGER.read(new JsonPrimitive("12")));
+        assertEquals(0.25f, RGCodec.FLOAT.read(new JsonPrimitive(0.25f)));
+        assertEquals(true, RGCodec.BOOLEAN.read(new JsonPrimitive(true)));
+        assertEquals(true, RGCodec.BOOLEAN.read(new JsonPrimitive("true")));
+        assertEquals("en_us", RGCodec.STRING.read(new JsonPrimitive("en_us")));
+    }
+
+    @Test
+    void rejectsNullFromElement() {
+        assertThrows(IllegalStateException.class, () -> RGCodec.INTEGER.read(JsonNull.INSTANCE));
+        assertThrows(IllegalStateException.class, () -> RGCodec.STRING.read(JsonNull.INSTANCE));
+    }
+
+    @Test
+    void customCodecReadsJsonText() {
+        RGCodec<String> codec = RGCodec.of(String.class, s -> "decoded:" + s, s -> s);
+        assertEquals("decoded:value", codec.read(new JsonPrimitive("value")));
+        JsonArray array = new JsonArray();
+        array.add(1);
+        assertEquals("decoded:[1]", codec.read(array));
+    }
+
+    @Test
+    void streamAndElementAgree() throws IOException {
+        for (String json : new String[]{"0", "-5", "\"42\"", "2147483647"}) {
+            JsonPrimitive element = JsonParser.parseString(json).getAsJsonPrimitive();
+            assertEquals(RGCodec.INTEGER.read(RGCodecTest.reader(json)), RGCodec.INTEGER.read(element));
+        }
+    }
+
+    private static @NotNull JsonReader reader(@NotNull String json) {
+        return new JsonReader(new StringReader(json));
+    }
+}
@@ -0,0 +1,93 @@
+package dev.anvilcraft.rg.api;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RGValidatorTest {
+    @Test
+    void checksInclusiveAndExclusiveBounds() {
+        RGValidator.IntegerValidator inclusive = RGValidatorTest.range(0, 10);
+        assertTrue(inclusive.validate(0, "0"));
+        assertTrue(inclusive.validate(0, "10"));
+        assertFalse(inclusive.validate(0, "11"));
+        assertFalse(inclusive.validate(0, "a"));
+        RGValidator.IntegerValidator exclusive = new RGValidator.IntegerValidator() {
+            @Override
+            public @NotNull Map.Entry<Integer, Integer> getRange() {
+                return Map.entry(0, 10);
+            }
+
+            @Override
+            public Map.Entry<Boolean, Boolean> containsRange() {
+                return Map.entry(false, true);
+            }
+        };
+        assertFalse(exclusive.validateValue(0, 0, RGCodec.INTEGER));
+        assertTrue(exclusive.validateValue(0, 10, RGCodec.INTEGER));
+    }
+
+    @Test
+    void readsDynamicRangeOnEveryCheck() {
+        int[] max = {5};
+        RGValidator.IntegerValidator validator = new RGValidator.IntegerValidator() {
+            @Override
+            public @NotNull Map.Entry<Integer, Integer> getRange() {
+                return Map.entry(0, max[0]);
+            }
+        };
+        assertFalse(validator.validateValue(0, 8, RGCodec.INTEGER));
+        max[0] = 10;
+        assertTrue(validator.validateValue(0, 8, RGCodec.INTEGER));
+    }
+
+    @Test
+    void cachesStaticRange() {
+        int[] max = {5};
+        RGValidator.IntegerValidator validator = new StaticIntegerValidator(max);
+        assertFalse(validator.validateValue(0, 8, RGCodec.INTEGER));
+        max[0] = 10;
+        assertFalse(validator.validateValue(0, 8, RGCodec.INTEGER));
+    }
+
+    @Test
+    void validatesDecodedStringsAndBooleans() {
+        assertFalse(new RGValidator.StringValidator().validateValue("a", "", RGCodec.STRING));
+        RGValidator.StringInSetValidator inSet = new RGValidator.StringInSetValidator() {
+            @Override
+            public Set<String> getSet() {
+                return Set.of("a", "b");
+            }
+        };
+        assertTrue(inSet.validateValue("a", "b", RGCodec.STRING));
+        assertFalse(inSet.validateValue("a", "c", RGCodec.STRING));
+        assertTrue(new RGValidator.BooleanValidator().validateValue(true, false, RGCodec.BOOLEAN));
+    }
+
+    private static @NotNull RGValidator.IntegerValidator range(int min, int max) {
+        return new RGValidator.IntegerValidator() {
+            @Override
+            public @NotNull Map.Entry<Integer, Integer> getRange() {
+                return Map.entry(min, max);
+            }
+        };
+    }
+
+    private static class StaticIntegerValidator extends RGValidator.IntegerValidator implements RGValidator.StaticRange {
+        private final int[] max;
+
+        private StaticIntegerValidator(int[] max) {
+            this.max = max;
+        }
+
+        @Override
+        public @NotNull Map.Entry<Integer, Integer> getRange() {
+            return Map.entry(0, this.max[0]);
+        }
+    }
+}
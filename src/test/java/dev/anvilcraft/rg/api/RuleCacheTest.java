@@ -0,0 +1,114 @@
+package dev.anvilcraft.rg.api;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleCacheTest {
+    private static final Map<String, RGRule<?>> RULES = TestRules.ALL;
+
+    @TempDir
+    Path dir;
+    // 解析函数被调用的次数，即缓存未命中的次数
+    private int parsed = 0;
+
+    @Test
+    void missingConfigIsCreatedEmpty() throws IOException {
+        Path config = this.dir.resolve("rules.json");
+        assertTrue(this.read(config, RULES).isEmpty());
+        assertEquals("{}", Files.readString(config).trim());
+    }
+
+    @Test
+    void unchangedConfigIsReadFromCache() throws IOException {
+        Path config = this.write("{\"int_rule\": 7, \"boolean_rule\": true, \"double_rule\": 0.5, \"string_rule\": \"b\"}");
+        Map<RGRule<?>, Object> first = this.read(config, RULES);
+        Map<RGRule<?>, Object> second = this.read(config, RULES);
+        assertEquals(1, this.parsed);
+        assertEquals(first, second);
+        assertEquals(7, second.get(RULES.get("int_rule")));
+        assertEquals(true, second.get(RULES.get("boolean_rule")));
+        assertEquals(0.5, second.get(RULES.get("double_rule")));
+        assertEquals("b", second.get(RULES.get("string_rule")));
+        assertTrue(Files.isRegularFile(this.dir.resolve("rules.json.rgcache")));
+    }
+
+    @Test
+    void contentChangeWithSameSizeAndTimeIsDetected() throws IOException {
+        Path config = this.write("{\"int_rule\": 1}");
+        FileTime time = Files.getLastModifiedTime(config);
+        this.read(config, RULES);
+        // 大小与修改时间都相同时，内容哈希仍然能区分两次写入
+        this.write("{\"int_rule\": 2}");
+        Files.setLastModifiedTime(config, time);
+        assertEquals(2, this.read(config, RULES).get(RULES.get("int_rule")));
+        assertEquals(2, this.parsed);
+    }
+
+    @Test
+    void ruleSetChangeInvalidatesCache() throws IOException {
+        Path config = this.write("{\"int_rule\": 3, \"string_rule\": \"b\"}");
+        Map<String, RGRule<?>> fewer = new LinkedHashMap<>(RULES);
+        fewer.remove("string_rule");
+        this.read(config, fewer);
+        // 之前被忽略的键在规则注册后需要重新解析
+        Map<RGRule<?>, Object> values = this.read(config, RULES);
+        assertEquals(2, this.parsed);
+        assertEquals("b", values.get(RULES.get("string_rule")));
+    }
+
+    @Test
+    void corruptedCacheFallsBackToJson() throws IOException {
+        Path config = this.write("{\"int_rule\": 9}");
+        this.read(config, RULES);
+        Files.write(this.dir.resolve("rules.json.rgcache"), new byte[]{0x52, 0x47, 0x43, 0x31, 0, 0});
+        assertEquals(9, this.read(config, RULES).get(RULES.get("int_rule")));
+        assertEquals(2, this.parsed);
+        // 回退后重建的缓存再次有效
+        this.read(config, RULES);
+        assertEquals(2, this.parsed);
+    }
+
+    @Test
+    void illegalValueIsNotCached() throws IOException {
+        Path config = this.write("{\"int_rule\": null}");
+        assertThrows(RGRuleException.class, () -> this.read(config, RULES));
+        assertFalse(Files.exists(this.dir.resolve("rules.json.rgcache")));
+        assertThrows(RGRuleException.class, () -> this.read(config, RULES));
+        assertEquals(2, this.parsed);
+    }
+
+    private @NotNull Map<RGRule<?>, Object> read(@NotNull Path config, @NotNull Map<String, RGRule<?>> rules) {
+        return RuleCache.read(config, rules, reader -> this.parse(reader, rules));
+    }
+
+    private @NotNull Map<RGRule<?>, Object> parse(@NotNull Reader reader, @NotNull Map<String, RGRule<?>> rules) {
+        this.parsed++;
+        Map<RGRule<?>, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> entry : JsonParser.parseReader(reader).getAsJsonObject().entrySet()) {
+            RGRule<?> rule = rules.get(entry.getKey());
+            if (rule != null) values.put(rule, rule.parseValue(entry.getValue()));
+        }
+        return values;
+    }
+
+    private @NotNull Path write(@NotNull String content) throws IOException {
+        return Files.writeString(this.dir.resolve("rules.json"), content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,70 @@
+package dev.anvilcraft.rg.api;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 单元测试共用的规则，每个规则只创建一次
+ */
+public final class TestRules {
+    public static final String NAMESPACE = "rg_test";
+
+    @Rule
+    public static int intRule = 4;
+    @Rule
+    public static boolean booleanRule = true;
+    @Rule
+    public static double doubleRule = 0;
+    @Rule(allowed = {"a", "b"})
+    public static String stringRule = "a";
+    @Rule(categories = "creative")
+    public static int viewDistance = 0;
+    @Rule(categories = "creative")
+    public static int simulationDistance = 0;
+    @Rule(categories = "experimental")
+    public static boolean welcomePlayer = false;
+
+    public static final RGRule<Integer> INT_RULE = TestRules.rule("intRule");
+    public static final RGRule<Boolean> BOOLEAN_RULE = TestRules.rule("booleanRule");
+    public static final RGRule<Double> DOUBLE_RULE = TestRules.rule("doubleRule");
+    public static final RGRule<String> STRING_RULE = TestRules.rule("stringRule");
+    public static final RGRule<Integer> VIEW_DISTANCE = TestRules.rule("viewDistance");
+    public static final RGRule<Integer> SIMULATION_DISTANCE = TestRules.rule("simulationDistance");
+    public static final RGRule<Boolean> WELCOME_PLAYER = TestRules.rule("welcomePlayer");
+    // 序列化名称到规则的映射，与规则管理器中的规则表相同
+    public static final Map<String, RGRule<?>> ALL = TestRules.all(
+        INT_RULE, BOOLEAN_RULE, DOUBLE_RULE, STRING_RULE, VIEW_DISTANCE, SIMULATION_DISTANCE, WELCOME_PLAYER
+    );
+
+    private TestRules() {
+    }
+
+    /**
+     * 按顺序构建规则到值的映射
+     *
+     * @param entries 交替排列的规则与值
+     * @return 规则到值的映射
+     */
+    public static @NotNull Map<RGRule<?>, Object> values(Object @NotNull ... entries) {
+        Map<RGRule<?>, Object> result = new LinkedHashMap<>();
+        for (int i = 0; i < entries.length; i += 2) result.put((RGRule<?>) entries[i], entries[i + 1]);
+        return result;
+    }
+
+    private static <T> @NotNull RGRule<T> rule(String name) {
+        try {
+            return RGRule.of(NAMESPACE, TestRules.class.getField(name));
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static @NotNull Map<String, RGRule<?>> all(RGRule<?> @NotNull ... rules) {
+        Map<String, RGRule<?>> result = new LinkedHashMap<>();
+        for (RGRule<?> rule : rules) result.put(rule.serialize(), rule);
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -0,0 +1,96 @@
+package dev.anvilcraft.rg.api.server;
+
+import dev.anvilcraft.rg.api.RGRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static dev.anvilcraft.rg.api.TestRules.BOOLEAN_RULE;
+import static dev.anvilcraft.rg.api.TestRules.INT_RULE;
+import static dev.anvilcraft.rg.api.TestRules.STRING_RULE;
+import static dev.anvilcraft.rg.api.TestRules.VIEW_DISTANCE;
+import static dev.anvilcraft.rg.api.TestRules.values;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleReloadTest {
+    @Test
+    void identicalContentChangesNothing() {
+        Map<RGRule<?>, Object> previous = values(INT_RULE, 4, BOOLEAN_RULE, true);
+        Map<RGRule<?>, Object> current = values(INT_RULE, 4, BOOLEAN_RULE, true);
+        assertTrue(RuleReload.changedRules(previous, current).isEmpty());
+    }
+
+    @Test
+    void onlyChangedValuesAreReported() {
+        Map<RGRule<?>, Object> previous = values(INT_RULE, 4, BOOLEAN_RULE, true, STRING_RULE, "a");
+        Map<RGRule<?>, Object> current = values(INT_RULE, 4, BOOLEAN_RULE, false, STRING_RULE, "a");
+        assertEquals(Set.of(BOOLEAN_RULE), RuleReload.changedRules(previous, current));
+    }
+
+    @Test
+    void addedRulesAreReported() {
+        Map<RGRule<?>, Object> previous = values(INT_RULE, 4);
+        Map<RGRule<?>, Object> current = values(INT_RULE, 4, STRING_RULE, "b");
+        assertEquals(Set.of(STRING_RULE), RuleReload.changedRules(previous, current));
+    }
+
+    @Test
+    void removedRulesAreReportedLast() {
+        Map<RGRule<?>, Object> previous = values(INT_RULE, 4, BOOLEAN_RULE, true);
+        Map<RGRule<?>, Object> current = values(STRING_RULE, "b", INT_RULE, 5);
+        assertEquals(List.of(STRING_RULE, INT_RULE, BOOLEAN_RULE), List.copyOf(RuleReload.changedRules(previous, current)));
+    }
+
+    @Test
+    void valuesAreComparedByEquality() {
+        // 每次读取都会得到新的装箱对象与字符串，不能按引用比较
+        Map<RGRule<?>, Object> previous = values(INT_RULE, Integer.valueOf(1000), STRING_RULE, new String("a"));
+        Map<RGRule<?>, Object> current = values(INT_RULE, Integer.valueOf(1000), STRING_RULE, new String("a"));
+        assertTrue(RuleReload.changedRules(previous, current).isEmpty());
+    }
+
+    @Test
+    void globalReloadAppliesOnlyChangedRules() {
+        Map<RGRule<?>, Object> previous = values(INT_RULE, 4, BOOLEAN_RULE, true);
+        Map<RGRule<?>, Object> global = values(INT_RULE, 6, BOOLEAN_RULE, true);
+        assertEquals(values(INT_RULE, 6), RuleReload.global(previous, global, Map.of()));
+    }
+
+    @Test
+    void globalReloadRestoresDefaultOfRemovedRules() {
+        Map<RGRule<?>, Object> previous = values(INT_RULE, 7);
+        assertEquals(values(INT_RULE, INT_RULE.defaultValue()), RuleReload.global(previous, Map.of(), Map.of()));
+    }
+
+    @Test
+    void worldFileWinsOverGlobalEvenWhenEqual() {
+        // 世界配置文件固定为8，与旧的全局值相同，修改全局配置不能改变它
+        Map<RGRule<?>, Object> worldFile = values(VIEW_DISTANCE, 8);
+        Map<RGRule<?>, Object> previous = values(VIEW_DISTANCE, 8);
+        Map<RGRule<?>, Object> global = values(VIEW_DISTANCE, 12);
+        assertTrue(RuleReload.global(previous, global, worldFile).isEmpty());
+        // 全局配置变化后，世界的值不再与全局值相同，需要显示为世界默认值
+        assertTrue(RuleReload.worldOverrides(worldFile, previous).isEmpty());
+        assertEquals(values(VIEW_DISTANCE, 8), RuleReload.worldOverrides(worldFile, global));
+    }
+
+    @Test
+    void worldReloadAppliesChangedValues() {
+        Map<RGRule<?>, Object> previous = values(VIEW_DISTANCE, 8, INT_RULE, 4);
+        Map<RGRule<?>, Object> world = values(VIEW_DISTANCE, 10, INT_RULE, 4);
+        assertEquals(values(VIEW_DISTANCE, 10), RuleReload.world(previous, world, Map.of()));
+    }
+
+    @Test
+    void worldReloadFallsBackToGlobalThenDefault() {
+        Map<RGRule<?>, Object> previous = values(VIEW_DISTANCE, 8, INT_RULE, 9);
+        Map<RGRule<?>, Object> global = values(VIEW_DISTANCE, 12);
+        assertEquals(
+            values(VIEW_DISTANCE, 12, INT_RULE, INT_RULE.defaultValue()),
+            RuleReload.world(previous, Map.of(), global)
+        );
+    }
+}
@@ -0,0 +1,81 @@
+package dev.anvilcraft.rg.api.server;
+
+import dev.anvilcraft.rg.RollingGateServerRules;
+import dev.anvilcraft.rg.api.RGRule;
+import dev.anvilcraft.rg.api.TestRules;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleSearchIndexTest {
+    private static final RGRule<Integer> VIEW = TestRules.VIEW_DISTANCE;
+    private static final RGRule<Integer> SIMULATION = TestRules.SIMULATION_DISTANCE;
+    private static final RGRule<Boolean> WELCOME = TestRules.WELCOME_PLAYER;
+
+    static {
+        TranslationUtil.addLanguage(RollingGateServerRules.language, Map.of(
+            SIMULATION.getNameTranslationKey(), "模拟距离",
+            SIMULATION.getDescriptionTranslationKey(), "设置服务器区块实体的模拟距离"
+        ));
+    }
+
+    private RuleSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        this.index = new RuleSearchIndex();
+        for (RGRule<?> rule : List.of(VIEW, SIMULATION, WELCOME)) this.index.add(rule);
+    }
+
+    @Test
+    void completesNamesAndSerializedNames() {
+        assertEquals(List.of(VIEW), this.index.complete("view", 10));
+        assertEquals(List.of(SIMULATION), this.index.complete("SIM", 10));
+        assertEquals(List.of(SIMULATION), this.index.complete("simulation_", 10));
+        assertEquals(2, this.index.complete("", 2).size());
+    }
+
+    @Test
+    void everyWordMustMatch() {
+        assertEquals(List.of(SIMULATION, VIEW), this.index.search("distance"));
+        assertEquals(List.of(VIEW), this.index.search("view dist"));
+        assertTrue(this.index.search("view welcome").isEmpty());
+        assertTrue(this.index.search("  ").isEmpty());
+    }
+
+    @Test
+    void matchesCategoriesAndNamespace() {
+        assertEquals(List.of(SIMULATION, VIEW), this.index.search("creative"));
+        assertEquals(List.of(SIMULATION, VIEW, WELCOME), this.index.search("rg_test"));
+    }
+
+    @Test
+    void matchesTranslationFromTheMiddle() {
+        assertEquals(List.of(SIMULATION), this.index.search("距离"));
+        assertEquals(List.of(SIMULATION), this.index.search("区块实体"));
+        // 超过片段长度的词拆分为重叠的片段，每个片段都需要匹配
+        assertEquals(List.of(SIMULATION), this.index.search("服务器区块实体的模拟"));
+        assertTrue(this.index.search("区块距离").isEmpty());
+    }
+
+    @Test
+    void removedRulesAreNotFound() {
+        this.index.remove(VIEW);
+        assertTrue(this.index.complete("view", 10).isEmpty());
+        assertEquals(List.of(SIMULATION), this.index.search("distance"));
+        this.index.remove(SIMULATION);
+        assertTrue(this.index.search("距离").isEmpty());
+    }
+
+    @Test
+    void longNonAsciiWordsAreSplitIntoGrams() {
+        assertEquals(List.of("服务器区", "务器区块", "器区块实"), RuleSearchIndex.grams("服务器区块实"));
+        assertEquals(List.of("区块实体"), RuleSearchIndex.grams("区块实体"));
+        assertEquals(List.of("simulationdistance"), RuleSearchIndex.grams("simulationdistance"));
+    }
+}